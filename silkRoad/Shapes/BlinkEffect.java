@@ -0,0 +1,69 @@
+package Shapes;
+
+import javax.swing.Timer;
+
+/**
+ * Hace parpadear una parte de un CompositeShape con los colores de Circle.discoTime,
+ * pero sin bloquear: cada cambio lo hace un javax.swing.Timer, así que start()
+ * vuelve enseguida. Al terminar o al cancelarse, la parte recupera su color.
+ */
+public class BlinkEffect {
+
+    /** Milisegundos entre cambios de color. */
+    public static final int PERIOD = 20;
+
+    private static final String[] COLORS = {"red", "green", "blue", "yellow", "magenta", "black"};
+
+    private final CompositeShape target;
+    private final int part;
+    private final int steps;
+    private final String originalColor;
+    private final Timer timer;
+    private int step = 0;
+    private boolean finished = false;
+
+    /**
+     * Prepara un parpadeo de steps cambios sobre la parte indicada.
+     */
+    public BlinkEffect(CompositeShape target, int part, int steps) {
+        this.target = target;
+        this.part = part;
+        this.steps = steps;
+        this.originalColor = target.getPartColor(part);
+        this.timer = new Timer(PERIOD, e -> tick());
+    }
+
+    /** Empieza el parpadeo y vuelve enseguida. */
+    public synchronized void start() {
+        if (!finished) timer.start();
+    }
+
+    /**
+     * Detiene el parpadeo y devuelve el color original. Se puede llamar desde cualquier hilo.
+     */
+    public synchronized void cancel() {
+        if (finished) return;
+        finished = true;
+        timer.stop();
+        target.changePartColor(part, originalColor);
+    }
+
+    /** Indica si el parpadeo sigue en curso. */
+    public synchronized boolean isRunning() {
+        return !finished;
+    }
+
+    public CompositeShape getTarget() {
+        return target;
+    }
+
+    private synchronized void tick() {
+        if (finished) return;  // un tick que llegó después de cancel
+        if (step >= steps) {
+            cancel();
+            return;
+        }
+        target.changePartColor(part, COLORS[step % COLORS.length]);
+        step++;
+    }
+}
@@ -9,10 +9,21 @@ import java.util.List;
 /**
  * Canvas is a class to allow for simple graphical drawing on a canvas.
  * Modified for BlueJ shapes demo.
+ *
+ * The 8000 × 8000 drawing area is backed by lazily allocated tiles and shown
+ * through a scrollable viewport; Ctrl + mouse wheel zooms.
+ *
+ * Painting happens on a separate render thread (FrameRenderer): draw and erase only
+ * update the scene, and each repaint publishes a frame without waiting for it.
+ * Scene updates are synchronized, so timed effects on the Swing thread can draw too.
  */
 public class Canvas {
     private static Canvas canvasSingleton;
 
+    // Profundidad de beginFrame/endFrame anidados; mientras sea > 0 no se repinta ni se espera
+    private static volatile int frameDepth = 0;
+    private static boolean frameDirty = false;
+
     /**
      * Factory method to get the canvas singleton object.
      */
@@ -24,88 +35,160 @@ public class Canvas {
         return canvasSingleton;
     }
 
+    private static final int MAX_WINDOW_WIDTH = 1200;
+    private static final int MAX_WINDOW_HEIGHT = 900;
+    private static final double MIN_ZOOM = 0.1;
+    private static final double MAX_ZOOM = 4.0;
+
     private JFrame frame;
     private CanvasPane canvas;
-    private Graphics2D graphic;
+    private JScrollPane viewport;
     private Color backgroundColour;
-    private Image canvasImage;
-    private List<Object> objects;
-    private HashMap<Object, ShapeDescription> shapes;
+    private CanvasScene scene;
+    private FrameRenderer renderer;
+    private int width;
+    private int height;
+    private volatile double zoom = 1.0;
 
     /**
      * Create a Canvas.
      */
     private Canvas(String title, int width, int height, Color bgColour) {
         frame = new JFrame();
+        backgroundColour = bgColour;
+        this.width = width;
+        this.height = height;
+        scene = new CanvasScene(width, height, bgColour);
+        renderer = new FrameRenderer(width, height, bgColour, this::repaintRegions);
+
         canvas = new CanvasPane();
-        frame.setContentPane(canvas);
-        frame.setTitle(title);
         canvas.setPreferredSize(new Dimension(width, height));
-        backgroundColour = bgColour;
-        frame.pack();
-        objects = new ArrayList<Object>();
-        shapes = new HashMap<Object, ShapeDescription>();
+        viewport = new JScrollPane(canvas);
+        viewport.getVerticalScrollBar().setUnitIncrement(16);
+        viewport.getHorizontalScrollBar().setUnitIncrement(16);
+        viewport.addMouseWheelListener(e -> {
+            if (e.isControlDown()) setZoom(zoom * Math.pow(1.1, -e.getPreciseWheelRotation()));
+        });
+
+        frame.setContentPane(viewport);
+        frame.setTitle(title);
+        frame.setSize(Math.min(width, MAX_WINDOW_WIDTH), Math.min(height, MAX_WINDOW_HEIGHT));
+        renderer.start();
     }
 
     /**
-     * Set the canvas visibility and initialize the graphic context.
+     * Set the canvas visibility.
      */
     public void setVisible(boolean visible) {
-        if (graphic == null) {
-            Dimension size = canvas.getSize();
-            canvasImage = canvas.createImage(size.width, size.height);
-            graphic = (Graphics2D) canvasImage.getGraphics();
-            graphic.setColor(backgroundColour);
-            graphic.fillRect(0, 0, size.width, size.height);
-            graphic.setColor(Color.black);
-        }
         frame.setVisible(visible);
     }
 
+    /**
+     * Change the zoom of the viewport (1 = real size).
+     */
+    public void setZoom(double newZoom) {
+        zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, newZoom));
+        canvas.setPreferredSize(new Dimension(
+            (int) Math.ceil(width * zoom),
+            (int) Math.ceil(height * zoom)));
+        canvas.revalidate();
+        canvas.repaint();
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Start a frame: until the matching endFrame, draw and erase only record the
+     * changes and wait does not sleep. Frames can be nested; the canvas is repainted
+     * once, when the outermost frame ends.
+     */
+    public static void beginFrame() {
+        frameDepth++;
+    }
+
+    /**
+     * End a frame started with beginFrame, repainting once if anything changed.
+     */
+    public static void endFrame() {
+        if (frameDepth == 0) throw new IllegalStateException("endFrame sin beginFrame");
+        if (--frameDepth == 0 && canvasSingleton != null) canvasSingleton.flushFrame();
+    }
+
+    /**
+     * Whether a frame is open (changes are being batched).
+     */
+    public static boolean inFrame() {
+        return frameDepth > 0;
+    }
+
     /**
      * Draw a given shape onto the canvas.
      */
-    public void draw(Object referenceObject, String color, java.awt.Shape shape) {
-        objects.remove(referenceObject); // remove if already present
-        objects.add(referenceObject);    // add to end
-        shapes.put(referenceObject, new ShapeDescription(shape, color));
-        redraw();
+    public synchronized void draw(Object referenceObject, String color, java.awt.Shape shape) {
+        scene.put(referenceObject, color, shape); // on top of everything else
+        changed();
+    }
+
+    /**
+     * Draw a group of shapes, offset by (x, y), as a single drawable.
+     * The arrays must not be modified afterwards.
+     */
+    public void draw(Object referenceObject, String[] colors, java.awt.Shape[] parts, int x, int y) {
+        draw(referenceObject, null, colors, parts, x, y);
+    }
+
+    /**
+     * Draw a group of shapes tagged with a sprite kind: it is blitted from a cached image
+     * shared by every group with the same kind and colors.
+     */
+    public synchronized void draw(Object referenceObject, SpriteAtlas.Kind kind, String[] colors,
+                     java.awt.Shape[] parts, int x, int y) {
+        scene.put(referenceObject, kind, colors, parts, x, y);
+        changed();
     }
 
     /**
      * Erase a given object’s shape from the canvas.
      */
-    public void erase(Object referenceObject) {
-        objects.remove(referenceObject);
-        shapes.remove(referenceObject);
-        redraw();
+    public synchronized void erase(Object referenceObject) {
+        scene.remove(referenceObject);
+        changed();
     }
 
     /**
-     * Set the current foreground color for future drawing.
+     * Repaint now, or mark the open frame as dirty.
      */
-    public void setForegroundColor(String colorString) {
-        switch (colorString) {
-            case "red" -> graphic.setColor(Color.red);
-            case "black" -> graphic.setColor(Color.black);
-            case "blue" -> graphic.setColor(Color.blue);
-            case "yellow" -> graphic.setColor(Color.yellow);
-            case "green" -> graphic.setColor(Color.green);
-            case "magenta" -> graphic.setColor(Color.magenta);
-            case "white" -> graphic.setColor(Color.white);
-            case "orange" -> graphic.setColor(Color.orange);
-            case "cyan" -> graphic.setColor(Color.cyan);
-            case "gray" -> graphic.setColor(Color.gray);
-            case "lightGray" -> graphic.setColor(Color.lightGray);
-            case "darkGray" -> graphic.setColor(Color.darkGray);
-            default -> graphic.setColor(Color.black);
+    private void changed() {
+        if (frameDepth > 0) frameDirty = true;
+        else redraw();
+    }
+
+    /**
+     * Repaint once if anything changed during the frame that just ended.
+     */
+    private synchronized void flushFrame() {
+        if (frameDirty) {
+            frameDirty = false;
+            redraw();
         }
     }
 
+    /**
+     * Kept for API compatibility; has no effect. Every shape carries its own
+     * colour in the scene, so there is no current foreground colour.
+     */
+    public void setForegroundColor(String colorString) {
+    }
+
     /**
      * Wait for a specified number of milliseconds before continuing.
+     * Inside a frame it returns immediately: the frame is shown once at endFrame.
+     * It never sleeps on the Swing event thread.
      */
     public void wait(int milliseconds) {
+        if (frameDepth > 0 || SwingUtilities.isEventDispatchThread()) return;
         try {
             Thread.sleep(milliseconds);
         } catch (Exception e) {
@@ -114,54 +197,36 @@ public class Canvas {
     }
 
     /**
-     * Redraw all shapes currently on the Canvas.
+     * Publish the damaged areas to the render thread; it redraws only the shapes that touch them.
      */
-    private void redraw() {
-        erase();
-        for (Iterator<Object> i = objects.iterator(); i.hasNext();) {
-            Object key = i.next();
-            ShapeDescription sd = shapes.get(key);
-            if (sd != null) sd.draw(graphic);
-        }
-        canvas.repaint();
+    private synchronized void redraw() {
+        renderer.publish(scene);
     }
 
     /**
-     * Erase the whole canvas (background only).
+     * Called by the render thread after a buffer swap (repaint is thread safe).
      */
-    private void erase() {
-        Color original = graphic.getColor();
-        graphic.setColor(backgroundColour);
-        Dimension size = canvas.getSize();
-        graphic.fill(new java.awt.Rectangle(0, 0, size.width, size.height));
-        graphic.setColor(original);
+    private void repaintRegions(List<java.awt.Rectangle> regions) {
+        double z = zoom;
+        for (java.awt.Rectangle region : regions) {
+            canvas.repaint(
+                (int) Math.floor(region.x * z), (int) Math.floor(region.y * z),
+                (int) Math.ceil(region.width * z) + 1, (int) Math.ceil(region.height * z) + 1);
+        }
     }
 
     /**
      * CanvasPane - internal class for drawing on the canvas.
+     * Only the tiles inside the visible (clipped) part are composited.
      */
     private class CanvasPane extends JPanel {
         public void paint(Graphics g) {
-            g.drawImage(canvasImage, 0, 0, null);
-        }
-    }
-
-    /**
-     * ShapeDescription - stores information about a drawn shape.
-     */
-    private class ShapeDescription {
-        private java.awt.Shape shape;
-        private String colorString;
-
-        public ShapeDescription(java.awt.Shape shape, String color) {
-            this.shape = shape;
-            this.colorString = color;
-        }
-
-        public void draw(Graphics2D graphic) {
-            setForegroundColor(colorString);
-            graphic.draw(shape);
-            graphic.fill(shape);
+            java.awt.Rectangle clip = g.getClipBounds();
+            if (clip == null) clip = new java.awt.Rectangle(0, 0, getWidth(), getHeight());
+            java.awt.Rectangle view = new java.awt.Rectangle(
+                (int) Math.floor(clip.x / zoom), (int) Math.floor(clip.y / zoom),
+                (int) Math.ceil(clip.width / zoom) + 1, (int) Math.ceil(clip.height / zoom) + 1);
+            renderer.composite(g, view, zoom);
         }
     }
 }
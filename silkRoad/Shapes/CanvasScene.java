@@ -0,0 +1,332 @@
+package Shapes;
+
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Contenido del Canvas: las figuras dibujadas, su orden y las zonas dañadas.
+ *
+ * Cada cambio (put/remove) agrega al daño los límites viejos y nuevos de la figura.
+ * Al repintar, solo se redibujan las zonas dañadas y, en cada una, solo las figuras
+ * que la tocan. Para encontrarlas sin recorrer todas, las figuras se indexan en una
+ * grilla de celdas de GRID_CELL píxeles.
+ *
+ * No usa ventanas: pinta sobre cualquier Graphics2D (por ejemplo, de un BufferedImage).
+ * Las figuras compuestas marcadas con un SpriteAtlas.Kind se copian desde el atlas
+ * de la escena en lugar de rellenarse parte por parte.
+ */
+public class CanvasScene implements RegionPainter {
+
+    /** Lado en píxeles de cada celda de la grilla espacial. */
+    public static final int GRID_CELL = 64;
+
+    /** Más zonas dañadas que esto se juntan en una sola. */
+    private static final int MAX_DAMAGE_RECTS = 8;
+
+    private final Color background;
+    private final int gridColumns;
+    private final int gridRows;
+    private final List<ShapeDescription>[] grid;
+    private final HashMap<Object, ShapeDescription> shapes = new HashMap<>();
+    private final List<java.awt.Rectangle> damage = new ArrayList<>();
+    private final SpriteAtlas atlas = new SpriteAtlas();
+    private static final Comparator<ShapeDescription> BY_ORDER = Comparator.comparingLong(sd -> sd.order);
+
+    private long nextOrder = 0;
+    private int queryStamp = 0;
+
+    /**
+     * Crea una escena vacía para un área de width × height píxeles.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CanvasScene(int width, int height, Color background) {
+        this.background = background;
+        this.gridColumns = Math.max(1, (width + GRID_CELL - 1) / GRID_CELL);
+        this.gridRows = Math.max(1, (height + GRID_CELL - 1) / GRID_CELL);
+        this.grid = new List[gridColumns * gridRows];
+    }
+
+    /**
+     * Dibuja (o redibuja encima de todo) la figura asociada a referenceObject.
+     */
+    public void put(Object referenceObject, String color, java.awt.Shape shape) {
+        put(referenceObject, new String[] {color}, new java.awt.Shape[] {shape}, 0, 0);
+    }
+
+    /**
+     * Dibuja (o redibuja encima de todo) un grupo de partes desplazadas en (dx, dy),
+     * como una sola figura. Los arreglos no deben modificarse después.
+     */
+    public void put(Object referenceObject, String[] colors, java.awt.Shape[] parts, int dx, int dy) {
+        put(referenceObject, null, colors, parts, dx, dy);
+    }
+
+    /**
+     * Como put con partes, pero marcando el grupo con un tipo del atlas (puede ser null):
+     * se dibujará desde una imagen guardada, compartida con los grupos del mismo tipo y colores.
+     */
+    public void put(Object referenceObject, SpriteAtlas.Kind kind, String[] colors,
+                    java.awt.Shape[] parts, int dx, int dy) {
+        ShapeDescription old = shapes.remove(referenceObject);
+        if (old != null) {
+            unindex(old);
+            addDamage(old.bounds);
+        }
+        ShapeDescription sd = new ShapeDescription(parts, colors, kind, dx, dy, nextOrder++);
+        shapes.put(referenceObject, sd);
+        index(sd);
+        addDamage(sd.bounds);
+    }
+
+    /**
+     * Borra la figura asociada a referenceObject.
+     */
+    public void remove(Object referenceObject) {
+        ShapeDescription old = shapes.remove(referenceObject);
+        if (old != null) {
+            unindex(old);
+            addDamage(old.bounds);
+        }
+    }
+
+    /** Atlas de figuras compuestas de esta escena. */
+    public SpriteAtlas getAtlas() {
+        return atlas;
+    }
+
+    /** Cantidad de figuras dibujadas. */
+    public int size() {
+        return shapes.size();
+    }
+
+    public boolean hasDamage() {
+        return !damage.isEmpty();
+    }
+
+    /**
+     * Devuelve las zonas dañadas desde la última llamada y las olvida.
+     */
+    public List<java.awt.Rectangle> takeDamage() {
+        List<java.awt.Rectangle> out = new ArrayList<>(damage);
+        damage.clear();
+        return out;
+    }
+
+    /**
+     * Marca toda una zona como dañada (por ejemplo, al mostrar la ventana).
+     */
+    public void addDamage(java.awt.Rectangle r) {
+        if (r.isEmpty()) return;
+        java.awt.Rectangle merged = new java.awt.Rectangle(r);
+        boolean again = true;
+        while (again) {
+            again = false;
+            for (Iterator<java.awt.Rectangle> it = damage.iterator(); it.hasNext();) {
+                java.awt.Rectangle d = it.next();
+                if (d.intersects(merged) || touches(d, merged)) {
+                    merged.add(d);
+                    it.remove();
+                    again = true;
+                }
+            }
+        }
+        damage.add(merged);
+        if (damage.size() > MAX_DAMAGE_RECTS) {
+            java.awt.Rectangle all = new java.awt.Rectangle(damage.get(0));
+            for (java.awt.Rectangle d : damage) all.add(d);
+            damage.clear();
+            damage.add(all);
+        }
+    }
+
+    private static boolean touches(java.awt.Rectangle a, java.awt.Rectangle b) {
+        return a.x <= b.x + b.width && b.x <= a.x + a.width
+            && a.y <= b.y + b.height && b.y <= a.y + a.height;
+    }
+
+    /**
+     * Repinta una zona: fondo y, en orden de dibujo, solo las figuras que la tocan.
+     *
+     * @return cantidad de figuras pintadas
+     */
+    @Override
+    public int paint(Graphics2D g, java.awt.Rectangle region) {
+        List<ShapeDescription> hits = query(region);
+        hits.sort(BY_ORDER);
+        return paintShapes(g, region, background, hits, atlas);
+    }
+
+    /**
+     * Arma un cuadro inmutable con las zonas dañadas hasta ahora y las figuras
+     * que las tocan, y olvida el daño. Lo usa el hilo de dibujo del Canvas.
+     */
+    public RenderFrame takeFrame() {
+        List<java.awt.Rectangle> regions = takeDamage();
+        List<ShapeDescription> hits = new ArrayList<>();
+        int stamp = ++queryStamp;
+        for (java.awt.Rectangle region : regions) collect(region, stamp, hits);
+        hits.sort(BY_ORDER);
+        return new RenderFrame(regions, hits, background, atlas);
+    }
+
+    /**
+     * Pinta el fondo de la zona y las figuras (ya ordenadas) que la tocan.
+     */
+    static int paintShapes(Graphics2D g, java.awt.Rectangle region, Color background,
+                           List<ShapeDescription> ordered, SpriteAtlas atlas) {
+        java.awt.Shape oldClip = g.getClip();
+        Color oldColor = g.getColor();
+        g.setClip(region);
+        g.setColor(background);
+        g.fill(region);
+
+        int painted = 0;
+        for (ShapeDescription sd : ordered) {
+            if (sd.bounds.intersects(region)) {
+                sd.draw(g, atlas);
+                painted++;
+            }
+        }
+
+        g.setColor(oldColor);
+        g.setClip(oldClip);
+        return painted;
+    }
+
+    /**
+     * Indica si alguna figura toca la zona.
+     */
+    @Override
+    public boolean hasShapesIn(java.awt.Rectangle region) {
+        return !query(region).isEmpty();
+    }
+
+    /** Figuras cuyos límites tocan la zona, sin repetir. */
+    private List<ShapeDescription> query(java.awt.Rectangle region) {
+        List<ShapeDescription> hits = new ArrayList<>();
+        collect(region, ++queryStamp, hits);
+        return hits;
+    }
+
+    /** Agrega a hits las figuras que tocan la zona y no tienen ya la marca stamp. */
+    private void collect(java.awt.Rectangle region, int stamp, List<ShapeDescription> hits) {
+        int c0 = column(region.x), c1 = column(region.x + region.width - 1);
+        int r0 = row(region.y), r1 = row(region.y + region.height - 1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                List<ShapeDescription> bucket = grid[r * gridColumns + c];
+                if (bucket == null) continue;
+                for (ShapeDescription sd : bucket) {
+                    if (sd.stamp != stamp && sd.bounds.intersects(region)) {
+                        sd.stamp = stamp;
+                        hits.add(sd);
+                    }
+                }
+            }
+        }
+    }
+
+    private void index(ShapeDescription sd) {
+        forEachBucket(sd, true);
+    }
+
+    private void unindex(ShapeDescription sd) {
+        forEachBucket(sd, false);
+    }
+
+    private void forEachBucket(ShapeDescription sd, boolean add) {
+        java.awt.Rectangle b = sd.bounds;
+        if (b.isEmpty()) return;
+        int c0 = column(b.x), c1 = column(b.x + b.width - 1);
+        int r0 = row(b.y), r1 = row(b.y + b.height - 1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * gridColumns + c;
+                if (add) {
+                    if (grid[cell] == null) grid[cell] = new ArrayList<>(4);
+                    grid[cell].add(sd);
+                } else if (grid[cell] != null) {
+                    grid[cell].remove(sd);
+                }
+            }
+        }
+    }
+
+    private int column(int x) {
+        return Math.max(0, Math.min(gridColumns - 1, Math.floorDiv(x, GRID_CELL)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(gridRows - 1, Math.floorDiv(y, GRID_CELL)));
+    }
+
+    /**
+     * Traduce un nombre de color del proyecto a un Color de AWT (negro si no se conoce).
+     */
+    public static Color colorFor(String colorString) {
+        return switch (colorString) {
+            case "red" -> Color.red;
+            case "black" -> Color.black;
+            case "blue" -> Color.blue;
+            case "yellow" -> Color.yellow;
+            case "green" -> Color.green;
+            case "magenta" -> Color.magenta;
+            case "white" -> Color.white;
+            case "orange" -> Color.orange;
+            case "cyan" -> Color.cyan;
+            case "gray" -> Color.gray;
+            case "lightGray" -> Color.lightGray;
+            case "darkGray" -> Color.darkGray;
+            default -> Color.black;
+        };
+    }
+
+    /**
+     * ShapeDescription - stores information about a drawn shape.
+     */
+    static class ShapeDescription {
+        final java.awt.Shape[] parts;
+        final String[] colors;
+        final SpriteAtlas.Key spriteKey;
+        final int dx;
+        final int dy;
+        final java.awt.Rectangle bounds;
+        final long order;
+        private int stamp; // solo lo usa la escena, en el hilo de la simulación
+
+        ShapeDescription(java.awt.Shape[] parts, String[] colors, SpriteAtlas.Kind kind,
+                         int dx, int dy, long order) {
+            this.parts = parts;
+            this.colors = colors;
+            this.spriteKey = kind != null ? new SpriteAtlas.Key(kind, colors) : null;
+            this.dx = dx;
+            this.dy = dy;
+            this.order = order;
+            java.awt.Rectangle b = null;
+            for (java.awt.Shape part : parts) {
+                if (b == null) b = part.getBounds();
+                else b.add(part.getBounds());
+            }
+            if (b == null) b = new java.awt.Rectangle();
+            b.translate(dx, dy);
+            // el trazo del borde se sale un píxel de getBounds()
+            if (parts.length > 0) b.grow(1, 1);
+            this.bounds = b;
+        }
+
+        void draw(Graphics2D graphic, SpriteAtlas atlas) {
+            if (spriteKey != null && atlas != null) {
+                atlas.draw(graphic, spriteKey, parts, dx, dy);
+                return;
+            }
+            graphic.translate(dx, dy);
+            for (int i = 0; i < parts.length; i++) {
+                graphic.setColor(colorFor(colors[i]));
+                graphic.draw(parts[i]);
+                graphic.fill(parts[i]);
+            }
+            graphic.translate(-dx, -dy);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package Shapes;
+
+import java.awt.geom.Ellipse2D;
+
+/**
+ * Un grupo de figuras que se mueve, cambia de color y se muestra u oculta como
+ * una sola en el Canvas.
+ *
+ * Las partes se definen una vez, relativas a la esquina del grupo, y no se vuelven
+ * a crear: moverlo solo cambia el desplazamiento, así que cuesta una operación del
+ * Canvas y no crea figuras nuevas. Las partes y los arreglos de colores que se
+ * entregan al Canvas nunca se modifican (cambiar un color crea un arreglo nuevo),
+ * de modo que el hilo de dibujo los puede leer sin copiar.
+ *
+ * Los cambios al grupo se hacen sincronizados: un efecto animado (BlinkEffect,
+ * en el hilo de Swing) puede recolorearlo mientras la simulación lo mueve. La
+ * pausa de animación tras cada dibujo se hace fuera del bloqueo, para no retener
+ * al otro hilo mientras se espera.
+ */
+public class CompositeShape extends Shape {
+
+    private java.awt.Shape[] parts = new java.awt.Shape[0];
+    private String[] colors = new String[0];
+    private SpriteAtlas.Kind kind;
+
+    public CompositeShape() {
+        xPosition = 0;
+        yPosition = 0;
+        color = "black";
+        isVisible = false;
+    }
+
+    /**
+     * Agrega un círculo (o elipse) con esquina en (x, y) relativa al grupo.
+     *
+     * @return índice de la parte
+     */
+    public int addEllipse(int x, int y, int width, int height, String partColor) {
+        return addPart(new Ellipse2D.Double(x, y, width, height), partColor);
+    }
+
+    /**
+     * Agrega un rectángulo con esquina en (x, y) relativa al grupo.
+     *
+     * @return índice de la parte
+     */
+    public int addRectangle(int x, int y, int width, int height, String partColor) {
+        return addPart(new java.awt.Rectangle(x, y, width, height), partColor);
+    }
+
+    /**
+     * Agrega un triángulo con la punta en (x, y) relativa al grupo, como Triangle.
+     *
+     * @return índice de la parte
+     */
+    public int addTriangle(int x, int y, int height, int width, String partColor) {
+        int[] xpoints = {x, x + (width / 2), x - (width / 2)};
+        int[] ypoints = {y, y + height, y + height};
+        return addPart(new java.awt.Polygon(xpoints, ypoints, 3), partColor);
+    }
+
+    private int addPart(java.awt.Shape part, String partColor) {
+        int n;
+        boolean drawn;
+        synchronized (this) {
+            n = parts.length;
+            java.awt.Shape[] newParts = java.util.Arrays.copyOf(parts, n + 1);
+            String[] newColors = java.util.Arrays.copyOf(colors, n + 1);
+            newParts[n] = part;
+            newColors[n] = partColor;
+            parts = newParts;
+            colors = newColors;
+            drawn = publish();
+        }
+        if (drawn) pause();
+        return n;
+    }
+
+    /** Quita todas las partes (por ejemplo, para rearmar el grupo con otro tamaño). */
+    public synchronized void clearParts() {
+        erase();
+        parts = new java.awt.Shape[0];
+        colors = new String[0];
+        kind = null;
+    }
+
+    /**
+     * Marca el grupo para dibujarse desde el atlas. Todos los grupos con el mismo
+     * nombre y tamaño deben tener las mismas partes.
+     */
+    public synchronized void setSpriteKind(String name, int size) {
+        kind = new SpriteAtlas.Kind(name, size);
+    }
+
+    public int partCount() {
+        return parts.length;
+    }
+
+    public synchronized String getPartColor(int part) {
+        return colors[part];
+    }
+
+    /**
+     * Cambia el color de una parte.
+     */
+    public void changePartColor(int part, String newColor) {
+        boolean drawn;
+        synchronized (this) {
+            if (colors[part].equals(newColor)) return;
+            String[] newColors = colors.clone();
+            newColors[part] = newColor;
+            colors = newColors;
+            drawn = publish();
+        }
+        if (drawn) pause();
+    }
+
+    /**
+     * Cambia el color de varias partes a la vez, desde la primera, con un solo redibujo.
+     */
+    public void changePartColors(String... newColors) {
+        boolean drawn;
+        synchronized (this) {
+            String[] updated = colors.clone();
+            System.arraycopy(newColors, 0, updated, 0, Math.min(newColors.length, updated.length));
+            colors = updated;
+            drawn = publish();
+        }
+        if (drawn) pause();
+    }
+
+    /**
+     * Cambia el color de todas las partes.
+     */
+    public void changeColor(String newColor) {
+        boolean drawn;
+        synchronized (this) {
+            color = newColor;
+            String[] updated = new String[colors.length];
+            java.util.Arrays.fill(updated, newColor);
+            colors = updated;
+            drawn = publish();
+        }
+        if (drawn) pause();
+    }
+
+    public int getX() {
+        return xPosition;
+    }
+
+    public int getY() {
+        return yPosition;
+    }
+
+    /**
+     * Mueve el grupo: el Canvas reemplaza el dibujo anterior, así que no hace falta borrarlo.
+     */
+    @Override
+    public void setAbsolutePosition(int newX, int newY) {
+        boolean drawn;
+        synchronized (this) {
+            if (newX == xPosition && newY == yPosition) return;
+            xPosition = newX;
+            yPosition = newY;
+            drawn = publish();
+        }
+        if (drawn) pause();
+    }
+
+    @Override
+    public void moveHorizontal(int distance) {
+        setAbsolutePosition(xPosition + distance, yPosition);
+    }
+
+    @Override
+    public void moveVertical(int distance) {
+        setAbsolutePosition(xPosition, yPosition + distance);
+    }
+
+    @Override
+    public void makeVisible() {
+        boolean drawn;
+        synchronized (this) {
+            if (isVisible) return;
+            isVisible = true;
+            drawn = publish();
+        }
+        if (drawn) pause();
+    }
+
+    @Override
+    public synchronized void makeInvisible() {
+        if (isVisible) {
+            erase();
+            isVisible = false;
+        }
+    }
+
+    @Override
+    protected void draw() {
+        if (publish()) pause();
+    }
+
+    /**
+     * Entrega el estado actual del grupo al Canvas, sin esperar.
+     *
+     * @return true si el grupo quedó dibujado
+     */
+    private synchronized boolean publish() {
+        if (!isVisible || parts.length == 0) return false;
+        Canvas.getCanvas().draw(this, kind, colors, parts, xPosition, yPosition);
+        return true;
+    }
+
+    /** Pausa de animación tras dibujar; se llama sin tener el bloqueo del grupo. */
+    private void pause() {
+        Canvas.getCanvas().wait(10);
+    }
+
+    @Override
+    protected synchronized void erase() {
+        if (isVisible) {
+            Canvas.getCanvas().erase(this);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package Shapes;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hilo de dibujo del Canvas con doble búfer.
+ *
+ * La simulación publica cuadros (RenderFrame) sin bloquearse: solo se guarda el último.
+ * Si el hilo de dibujo va atrasado, el cuadro pendiente se descarta y sus zonas dañadas
+ * se suman al siguiente, que se arma con el estado más nuevo de la escena.
+ *
+ * El hilo pinta en el búfer de atrás y luego intercambia búferes; la ventana siempre
+ * compone desde el de adelante. Como el búfer de atrás quedó un cuadro atrasado,
+ * antes de pintar se le copian desde el de adelante las zonas del cuadro anterior.
+ */
+public class FrameRenderer {
+
+    private final TiledBackingStore[] buffers = new TiledBackingStore[2];
+    private final Object swapLock = new Object();
+    private final Object renderLock = new Object();               // publish no lo toma: nunca espera al dibujo
+    private final AtomicReference<RenderFrame> pending = new AtomicReference<>();
+    private final Consumer<List<java.awt.Rectangle>> onSwap;
+
+    private int front = 0;                                         // se lee y cambia con swapLock
+    private List<java.awt.Rectangle> owed = new ArrayList<>();     // zonas que le faltan al búfer de atrás
+    private volatile Thread thread;
+    private volatile boolean running;
+    private volatile long published = 0;
+    private volatile long dropped = 0;
+    private volatile long rendered = 0;
+
+    /**
+     * Crea el dibujante de un lienzo de width × height píxeles.
+     *
+     * @param onSwap se llama desde el hilo de dibujo con las zonas que cambiaron al intercambiar
+     */
+    public FrameRenderer(int width, int height, Color background, Consumer<List<java.awt.Rectangle>> onSwap) {
+        buffers[0] = new TiledBackingStore(width, height, background);
+        buffers[1] = new TiledBackingStore(width, height, background);
+        this.onSwap = onSwap;
+    }
+
+    /**
+     * Arranca el hilo de dibujo (daemon). Sin arrancarlo, los cuadros se pintan con renderPending.
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this::loop, "SilkRoad-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Detiene el hilo de dibujo. */
+    public synchronized void stop() {
+        running = false;
+        Thread t = thread;
+        thread = null;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    /**
+     * Publica el daño acumulado en la escena como un cuadro nuevo. No espera al hilo de dibujo.
+     * Solo debe llamarse desde el hilo que modifica la escena.
+     */
+    public synchronized void publish(CanvasScene scene) {
+        if (!scene.hasDamage()) return;
+        RenderFrame skipped = pending.getAndSet(null);
+        if (skipped != null) {
+            // el hilo de dibujo no lo alcanzó a tomar: sus zonas van en el cuadro nuevo
+            for (java.awt.Rectangle r : skipped.getDamage()) scene.addDamage(r);
+            dropped++;
+        }
+        pending.set(scene.takeFrame());
+        published++;
+        Thread t = thread;
+        if (t != null) LockSupport.unpark(t);
+    }
+
+    /**
+     * Pinta el cuadro pendiente, si hay, en el hilo actual.
+     *
+     * @return false si no había cuadro pendiente
+     */
+    public boolean renderPending() {
+        RenderFrame frame = pending.getAndSet(null);
+        if (frame == null) return false;
+        render(frame);
+        return true;
+    }
+
+    private void loop() {
+        while (running) {
+            if (!renderPending()) LockSupport.parkNanos(50_000_000L);
+        }
+    }
+
+    private void render(RenderFrame frame) {
+        synchronized (renderLock) {
+            renderLocked(frame);
+        }
+    }
+
+    private void renderLocked(RenderFrame frame) {
+        TiledBackingStore back, current;
+        synchronized (swapLock) {
+            current = buffers[front];
+            back = buffers[1 - front];
+        }
+        for (java.awt.Rectangle r : owed) back.copyFrom(current, r);
+        for (java.awt.Rectangle r : frame.getDamage()) back.paint(frame, r);
+        synchronized (swapLock) {
+            front = 1 - front;
+        }
+        owed = frame.getDamage();
+        rendered++;
+        if (onSwap != null) onSwap.accept(owed);
+    }
+
+    /**
+     * Copia a g la parte visible del búfer de adelante (lo llama la ventana).
+     */
+    public void composite(Graphics g, java.awt.Rectangle view, double zoom) {
+        synchronized (swapLock) {
+            buffers[front].composite(g, view, zoom);
+        }
+    }
+
+    /** Cuadros publicados. */
+    public long framesPublished() {
+        return published;
+    }
+
+    /** Cuadros publicados que se descartaron porque llegó uno más nuevo antes de pintarlos. */
+    public long framesDropped() {
+        return dropped;
+    }
+
+    /** Cuadros pintados. */
+    public long framesRendered() {
+        return rendered;
+    }
+}
@@ -0,0 +1,20 @@
+package Shapes;
+
+import java.awt.Graphics2D;
+
+/**
+ * Algo que sabe repintar una zona del lienzo: la escena viva del Canvas
+ * o un cuadro inmutable ya publicado al hilo de dibujo.
+ */
+public interface RegionPainter {
+
+    /** Indica si alguna figura toca la zona. */
+    boolean hasShapesIn(java.awt.Rectangle region);
+
+    /**
+     * Pinta el fondo de la zona y encima las figuras que la tocan, en orden de dibujo.
+     *
+     * @return cantidad de figuras pintadas
+     */
+    int paint(Graphics2D g, java.awt.Rectangle region);
+}
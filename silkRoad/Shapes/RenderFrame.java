@@ -0,0 +1,53 @@
+package Shapes;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cuadro inmutable para el hilo de dibujo: las zonas dañadas y, en orden de dibujo,
+ * las figuras que las tocan tal como estaban al publicarse.
+ *
+ * Lo arma CanvasScene.takeFrame en el hilo de la simulación; después nadie lo modifica,
+ * así que el hilo de dibujo lo puede leer sin sincronizar. Lo único compartido es el
+ * atlas de la escena, que se sincroniza por su cuenta.
+ */
+public final class RenderFrame implements RegionPainter {
+
+    private final List<java.awt.Rectangle> damage;
+    private final List<CanvasScene.ShapeDescription> shapes;
+    private final Color background;
+    private final SpriteAtlas atlas;
+
+    RenderFrame(List<java.awt.Rectangle> damage, List<CanvasScene.ShapeDescription> shapes,
+                Color background, SpriteAtlas atlas) {
+        this.damage = Collections.unmodifiableList(damage);
+        this.shapes = Collections.unmodifiableList(shapes);
+        this.background = background;
+        this.atlas = atlas;
+    }
+
+    /** Zonas que este cuadro cambia. */
+    public List<java.awt.Rectangle> getDamage() {
+        return damage;
+    }
+
+    /** Cantidad de figuras que lleva el cuadro. */
+    public int shapeCount() {
+        return shapes.size();
+    }
+
+    @Override
+    public boolean hasShapesIn(java.awt.Rectangle region) {
+        for (CanvasScene.ShapeDescription sd : shapes) {
+            if (sd.bounds.intersects(region)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int paint(Graphics2D g, java.awt.Rectangle region) {
+        return CanvasScene.paintShapes(g, region, background, shapes, atlas);
+    }
+}
@@ -0,0 +1,173 @@
+package Shapes;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché de figuras compuestas ya rasterizadas (robots, tiendas).
+ *
+ * Cada combinación de tipo, tamaño y colores se dibuja una sola vez en un
+ * BufferedImage transparente; después se copia con drawImage en lugar de
+ * recorrer y rellenar cada parte. El resultado es idéntico píxel a píxel
+ * porque el desplazamiento es siempre entero.
+ *
+ * Quien marca una figura con un Kind promete que dos figuras con el mismo Kind
+ * tienen la misma geometría. Cuando un tipo aparece con otro tamaño (cambió el
+ * tamaño de celda) se descartan sus imágenes del tamaño anterior; además se
+ * guardan a lo sumo MAX_SPRITES imágenes, descartando la menos usada.
+ */
+public class SpriteAtlas {
+
+    /** Máximo de imágenes guardadas. */
+    public static final int MAX_SPRITES = 256;
+
+    /**
+     * Tipo y tamaño de una figura compuesta (por ejemplo "robot", 30).
+     */
+    public static final class Kind {
+        final String name;
+        final int size;
+
+        public Kind(String name, int size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Kind)) return false;
+            Kind k = (Kind) o;
+            return size == k.size && name.equals(k.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + size;
+        }
+    }
+
+    /**
+     * Clave de una imagen: tipo, tamaño y colores de las partes. Inmutable.
+     */
+    static final class Key {
+        final Kind kind;
+        final String[] colors;
+        private final int hash;
+
+        Key(Kind kind, String[] colors) {
+            this.kind = kind;
+            this.colors = colors;
+            this.hash = kind.hashCode() * 31 + Arrays.hashCode(colors);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return hash == k.hash && kind.equals(k.kind) && Arrays.equals(colors, k.colors);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Sprite {
+        final BufferedImage image;
+        final int x;  // esquina de la imagen relativa al grupo
+        final int y;
+
+        Sprite(BufferedImage image, int x, int y) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private final LinkedHashMap<Key, Sprite> sprites = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Sprite> eldest) {
+            if (size() <= MAX_SPRITES) return false;
+            evictions++;
+            return true;
+        }
+    };
+    private final HashMap<String, Integer> currentSize = new HashMap<>();
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Dibuja el grupo desplazado en (dx, dy) usando su imagen guardada (y la crea si falta).
+     */
+    synchronized void draw(Graphics2D g, Key key, java.awt.Shape[] parts, int dx, int dy) {
+        Integer size = currentSize.get(key.kind.name);
+        if (size == null || size != key.kind.size) {
+            if (size != null) evictKind(key.kind.name);
+            currentSize.put(key.kind.name, key.kind.size);
+        }
+
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            misses++;
+            sprite = rasterize(parts, key.colors);
+            sprites.put(key, sprite);
+        } else {
+            hits++;
+        }
+        if (sprite.image != null) g.drawImage(sprite.image, dx + sprite.x, dy + sprite.y, null);
+    }
+
+    private void evictKind(String name) {
+        for (Iterator<Key> it = sprites.keySet().iterator(); it.hasNext();) {
+            if (it.next().kind.name.equals(name)) {
+                it.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private static Sprite rasterize(java.awt.Shape[] parts, String[] colors) {
+        java.awt.Rectangle b = null;
+        for (java.awt.Shape part : parts) {
+            if (b == null) b = part.getBounds();
+            else b.add(part.getBounds());
+        }
+        if (b == null || b.isEmpty()) return new Sprite(null, 0, 0);
+        b.grow(1, 1); // el trazo del borde se sale un píxel de getBounds()
+
+        BufferedImage image = new BufferedImage(b.width, b.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.translate(-b.x, -b.y);
+        for (int i = 0; i < parts.length; i++) {
+            g.setColor(CanvasScene.colorFor(colors[i]));
+            g.draw(parts[i]);
+            g.fill(parts[i]);
+        }
+        g.dispose();
+        return new Sprite(image, b.x, b.y);
+    }
+
+    /** Cantidad de imágenes guardadas. */
+    public synchronized int size() {
+        return sprites.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,149 @@
+package Shapes;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Imagen de respaldo del Canvas dividida en baldosas de TILE × TILE píxeles.
+ *
+ * Una baldosa se crea recién cuando algo se dibuja en ella; mientras no exista
+ * se considera del color de fondo. Así la memoria inicial no depende del tamaño
+ * lógico del lienzo (8000 × 8000 serían unos 256 MB en una sola imagen ARGB),
+ * sino de la zona realmente usada. Al mostrar, solo se copian las baldosas
+ * visibles en la vista, con el zoom indicado.
+ */
+public class TiledBackingStore {
+
+    /** Lado en píxeles de cada baldosa. */
+    public static final int TILE = 256;
+
+    private final int width;
+    private final int height;
+    private final int columns;
+    private final int rows;
+    private final Color background;
+    private final BufferedImage[] tiles;
+    private final Graphics2D[] graphics;
+    private int allocated = 0;
+
+    /**
+     * Crea un almacén vacío para un lienzo lógico de width × height píxeles.
+     */
+    public TiledBackingStore(int width, int height, Color background) {
+        this.width = width;
+        this.height = height;
+        this.columns = Math.max(1, (width + TILE - 1) / TILE);
+        this.rows = Math.max(1, (height + TILE - 1) / TILE);
+        this.background = background;
+        this.tiles = new BufferedImage[columns * rows];
+        this.graphics = new Graphics2D[columns * rows];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /** Cantidad de baldosas creadas hasta ahora. */
+    public int allocatedTiles() {
+        return allocated;
+    }
+
+    /**
+     * Repinta una zona del lienzo con el contenido de la escena (o de un cuadro publicado).
+     * Las baldosas que no existen y cuya parte de la zona queda vacía no se crean.
+     */
+    public void paint(RegionPainter scene, java.awt.Rectangle region) {
+        java.awt.Rectangle clipped = region.intersection(new java.awt.Rectangle(0, 0, width, height));
+        if (clipped.isEmpty()) return;
+        int c0 = clipped.x / TILE, c1 = (clipped.x + clipped.width - 1) / TILE;
+        int r0 = clipped.y / TILE, r1 = (clipped.y + clipped.height - 1) / TILE;
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                java.awt.Rectangle part = clipped.intersection(
+                    new java.awt.Rectangle(c * TILE, r * TILE, TILE, TILE));
+                int t = r * columns + c;
+                if (tiles[t] == null) {
+                    if (!scene.hasShapesIn(part)) continue; // sigue siendo fondo
+                    allocate(t, c, r);
+                }
+                scene.paint(graphics[t], part);
+            }
+        }
+    }
+
+    /**
+     * Copia una zona desde otro almacén del mismo tamaño. Lo usa el doble búfer
+     * para poner al día el búfer de atrás con lo que se pintó en el de adelante.
+     */
+    public void copyFrom(TiledBackingStore source, java.awt.Rectangle region) {
+        java.awt.Rectangle clipped = region.intersection(new java.awt.Rectangle(0, 0, width, height));
+        if (clipped.isEmpty()) return;
+        int c0 = clipped.x / TILE, c1 = (clipped.x + clipped.width - 1) / TILE;
+        int r0 = clipped.y / TILE, r1 = (clipped.y + clipped.height - 1) / TILE;
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                java.awt.Rectangle part = clipped.intersection(
+                    new java.awt.Rectangle(c * TILE, r * TILE, TILE, TILE));
+                int t = r * columns + c;
+                BufferedImage from = source.tiles[t];
+                if (from == null) {
+                    if (tiles[t] == null) continue; // ambas son fondo
+                    graphics[t].setColor(background);
+                    graphics[t].fill(part);
+                    continue;
+                }
+                if (tiles[t] == null) allocate(t, c, r);
+                int sx = part.x - c * TILE, sy = part.y - r * TILE;
+                graphics[t].drawImage(from,
+                    part.x, part.y, part.x + part.width, part.y + part.height,
+                    sx, sy, sx + part.width, sy + part.height, null);
+            }
+        }
+    }
+
+    private void allocate(int t, int c, int r) {
+        BufferedImage tile = new BufferedImage(TILE, TILE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tile.createGraphics();
+        g.setColor(background);
+        g.fillRect(0, 0, TILE, TILE);
+        g.translate(-c * TILE, -r * TILE); // la escena dibuja en coordenadas del lienzo
+        tiles[t] = tile;
+        graphics[t] = g;
+        allocated++;
+    }
+
+    /**
+     * Copia a g la parte visible del lienzo.
+     *
+     * @param view zona visible, en coordenadas del lienzo
+     * @param zoom escala de la vista (1 = tamaño real)
+     */
+    public void composite(Graphics g, java.awt.Rectangle view, double zoom) {
+        java.awt.Rectangle clipped = view.intersection(new java.awt.Rectangle(0, 0, width, height));
+        if (clipped.isEmpty()) return;
+        int c0 = clipped.x / TILE, c1 = (clipped.x + clipped.width - 1) / TILE;
+        int r0 = clipped.y / TILE, r1 = (clipped.y + clipped.height - 1) / TILE;
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int x0 = (int) Math.floor(c * TILE * zoom);
+                int y0 = (int) Math.floor(r * TILE * zoom);
+                int x1 = (int) Math.ceil((c + 1) * TILE * zoom);
+                int y1 = (int) Math.ceil((r + 1) * TILE * zoom);
+                BufferedImage tile = tiles[r * columns + c];
+                if (tile == null) {
+                    g.setColor(background);
+                    g.fillRect(x0, y0, x1 - x0, y1 - y0);
+                } else {
+                    g.drawImage(tile, x0, y0, x1 - x0, y1 - y0, null);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package Simulation;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Formato binario compacto de eventos de la maratón (little-endian).
+ *
+ * Encabezado de 24 bytes:
+ *   int  MAGIC ("SEV1"), int VERSION, int RECORD_INTS, int reservado, long cantidad de eventos
+ * Luego un registro de ancho fijo por evento:
+ *   int longitud (0..MAX_EVENT_INTS), MAX_EVENT_INTS enteros del evento (tipo primero,
+ *   relleno con ceros).
+ *
+ * Al tener ancho fijo, el evento i se ubica sin leer los anteriores, así que el archivo
+ * se puede resolver directamente con {@link MappedEventFile}.
+ */
+public final class BinaryEventFormat {
+
+    /** Bytes 'S' 'E' 'V' '1' leídos como int little-endian. */
+    public static final int MAGIC = 0x31564553;
+    public static final int VERSION = 1;
+
+    /** Enteros por evento: el tipo y hasta cinco valores. */
+    public static final int MAX_EVENT_INTS = 1 + EventReader.MAX_EVENT_VALUES;
+    public static final int RECORD_INTS = 1 + MAX_EVENT_INTS;
+    public static final int RECORD_BYTES = RECORD_INTS * Integer.BYTES;
+    public static final int HEADER_BYTES = 24;
+
+    private static final int WRITE_BATCH = 4096;
+
+    private BinaryEventFormat() {
+    }
+
+    /**
+     * Indica si el archivo empieza con el número mágico del formato binario.
+     */
+    public static boolean isBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (head.hasRemaining() && channel.read(head) >= 0) { }
+            return head.position() == 4 && head.getInt(0) == MAGIC;
+        }
+    }
+
+    /**
+     * Convierte la entrada de texto de Main al formato binario, evento por evento,
+     * sin cargar toda la entrada en memoria.
+     *
+     * @return cantidad de eventos escritos
+     */
+    public static long convertText(InputStream text, Path out) throws IOException {
+        EventReader reader = new EventReader(text);
+        int n = reader.readEventCount();
+        if (n < 0) n = 0;
+
+        try (Writer writer = new Writer(out)) {
+            int[] scratch = new int[MAX_EVENT_INTS];
+            for (int i = 0; i < n; i++) {
+                writer.add(scratch, reader.readEvent(scratch));
+            }
+            return writer.count;
+        }
+    }
+
+    /**
+     * Escribe una secuencia de eventos en formato binario.
+     *
+     * @throws IllegalArgumentException si un evento tiene más de MAX_EVENT_INTS enteros
+     */
+    public static void write(EventSource events, Path out) throws IOException {
+        try (Writer writer = new Writer(out)) {
+            int[] scratch = new int[MAX_EVENT_INTS];
+            for (int i = 0; i < events.size(); i++) {
+                int len = events.length(i);
+                if (len > MAX_EVENT_INTS) {
+                    throw new IllegalArgumentException(
+                        "El evento " + i + " tiene " + len + " enteros (máximo " + MAX_EVENT_INTS + ")");
+                }
+                for (int k = 0; k < len; k++) scratch[k] = events.value(i, k);
+                writer.add(scratch, len);
+            }
+        }
+    }
+
+    /**
+     * Lee un archivo binario desde un flujo (por ejemplo, la entrada estándar),
+     * donde no es posible mapearlo. El número mágico ya debe estar validado o por leerse.
+     */
+    public static EventLog read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        byte[] header = new byte[HEADER_BYTES];
+        data.readFully(header);
+        ByteBuffer hb = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        long count = checkHeader(hb);
+
+        EventLog events = new EventLog((int) count, (int) Math.min(Integer.MAX_VALUE - 8, 3 * count));
+        byte[] record = new byte[RECORD_BYTES];
+        ByteBuffer rb = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN);
+        int[] scratch = new int[MAX_EVENT_INTS];
+        for (long i = 0; i < count; i++) {
+            data.readFully(record);
+            int len = checkLength(rb.getInt(0));
+            for (int k = 0; k < len; k++) scratch[k] = rb.getInt((1 + k) * Integer.BYTES);
+            events.add(scratch, 0, len);
+        }
+        return events;
+    }
+
+    /**
+     * Valida el encabezado y devuelve la cantidad de eventos.
+     */
+    static long checkHeader(ByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC) throw new IOException("No es un archivo de eventos binario");
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Versión de formato no soportada: " + header.getInt(4));
+        }
+        if (header.getInt(8) != RECORD_INTS) {
+            throw new IOException("Ancho de registro inesperado: " + header.getInt(8));
+        }
+        long count = header.getLong(16);
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new IOException("Cantidad de eventos inválida: " + count);
+        }
+        return count;
+    }
+
+    static int checkLength(int len) throws IOException {
+        if (len < 0 || len > MAX_EVENT_INTS) throw new IOException("Registro corrupto (longitud " + len + ")");
+        return len;
+    }
+
+    /**
+     * Escritor por lotes: acumula registros en un buffer directo y al cerrar
+     * completa el encabezado con la cantidad real de eventos.
+     */
+    private static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long count = 0;
+
+        Writer(Path out) throws IOException {
+            channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocateDirect(WRITE_BATCH * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(HEADER_BYTES);
+        }
+
+        void add(int[] values, int len) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putInt(len);
+            for (int k = 0; k < MAX_EVENT_INTS; k++) buffer.putInt(k < len ? values[k] : 0);
+            count++;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_INTS).putInt(0).putLong(count);
+                header.flip();
+                channel.position(0);
+                while (header.hasRemaining()) channel.write(header);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Estado incremental del solver de la maratón entre un día y el siguiente.
+ *
+ * Cada evento agrega como máximo un robot o una tienda, así que el estado se
+ * mantiene ordenado sobre arreglos primitivos en lugar de reordenar y
+ * reconstruir todo cada día. Los robots nuevos se acumulan sin ordenar y se
+ * mezclan con los ya ordenados solo al consultarlos, de modo que agregarlos en
+ * cualquier orden no desplaza el arreglo una vez por robot. Las sumas prefijas
+ * de tenges se recalculan solo desde la primera tienda que cambió desde la
+ * última consulta.
+ */
+public class ContestState {
+
+    private final IntSequence robots = new IntSequence();
+    private final IntSequence pendingRobots = new IntSequence();
+
+    private int[] storePos = new int[16];
+    private int[] storeTenges = new int[16];
+    private long[] pref = new long[17];
+    private int storeCount = 0;
+    private int dirtyFrom = 0;
+
+    /**
+     * Agrega un robot; queda pendiente hasta la siguiente consulta de posiciones.
+     */
+    public void addRobot(int position) {
+        pendingRobots.add(position);
+    }
+
+    /**
+     * Coloca una tienda. Si ya existe una en esa posición, reemplaza sus tenges.
+     */
+    public void putStore(int position, int tenges) {
+        int idx = lowerBound(storePos, storeCount, position);
+        if (idx < storeCount && storePos[idx] == position) {
+            storeTenges[idx] = tenges;
+        } else {
+            if (storeCount == storePos.length) growStores();
+            System.arraycopy(storePos, idx, storePos, idx + 1, storeCount - idx);
+            System.arraycopy(storeTenges, idx, storeTenges, idx + 1, storeCount - idx);
+            storePos[idx] = position;
+            storeTenges[idx] = tenges;
+            storeCount++;
+        }
+        dirtyFrom = Math.min(dirtyFrom, idx);
+    }
+
+    public int getRobotCount() {
+        return robots.size() + pendingRobots.size();
+    }
+
+    public int getStoreCount() {
+        return storeCount;
+    }
+
+    /** Bytes reservados por los arreglos del estado (robots, pendientes y tiendas). */
+    public long reservedBytes() {
+        return 4L * (robots.capacity() + pendingRobots.capacity() + storePos.length + storeTenges.length)
+            + 8L * pref.length;
+    }
+
+    /** Posiciones de robots ordenadas; solo las primeras getRobotCount() son válidas. */
+    public int[] getRobots() {
+        flushRobots();
+        return robots.array();
+    }
+
+    /** Posiciones de tiendas ordenadas; solo las primeras getStoreCount() son válidas. */
+    public int[] getStorePositions() {
+        return storePos;
+    }
+
+    /**
+     * Sumas prefijas de tenges; solo las primeras getStoreCount() + 1 son válidas.
+     * Recalcula únicamente el tramo afectado por los últimos eventos.
+     */
+    public long[] getPrefixSums() {
+        for (int i = dirtyFrom; i < storeCount; i++) {
+            pref[i + 1] = pref[i] + storeTenges[i];
+        }
+        dirtyFrom = storeCount;
+        return pref;
+    }
+
+    /**
+     * Copia inmutable del estado actual, para resolver el día en otro hilo.
+     */
+    public Snapshot snapshot(int day) {
+        long[] prefix = getPrefixSums();
+        flushRobots();
+        return new Snapshot(day, robots.toArray(),
+            Arrays.copyOf(storePos, storeCount), Arrays.copyOf(prefix, storeCount + 1));
+    }
+
+    /**
+     * Estado congelado de un día: robots, tiendas y sumas prefijas con longitud exacta.
+     */
+    public static class Snapshot {
+        public final int day;
+        public final int[] robots;
+        public final int[] storePos;
+        public final long[] pref;
+        public Snapshot(int day, int[] robots, int[] storePos, long[] pref) {
+            this.day = day;
+            this.robots = robots;
+            this.storePos = storePos;
+            this.pref = pref;
+        }
+    }
+
+    /** Mezcla los robots pendientes con los ya ordenados. */
+    private void flushRobots() {
+        robots.mergeSorted(pendingRobots);
+    }
+
+    private void growStores() {
+        int capacity = storePos.length * 2;
+        storePos = Arrays.copyOf(storePos, capacity);
+        storeTenges = Arrays.copyOf(storeTenges, capacity);
+        pref = Arrays.copyOf(pref, capacity + 1);
+    }
+
+    /** Primera posición con valor >= key dentro de values[0..n). */
+    private static int lowerBound(int[] values, int n, int key) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,66 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Robots deudores (tenges negativos) de un modelo, ordenados por posición actual.
+ *
+ * Robot.addTenges avisa cuando un robot entra o sale de la deuda y el modelo avisa
+ * cada movimiento, así que el índice siempre está al día sin recorrer los robots.
+ * Buscar los deudores de un tramo [from, to] es una búsqueda binaria más el recorrido
+ * de los k encontrados: O(log R + k). Se guarda en un SortedIntMap, como los robots.
+ *
+ * Las consultas solo leen, así que varios hilos pueden consultar a la vez mientras
+ * nadie lo modifique (SilkRoadModel.policeSweep espera a que terminen antes de eliminar).
+ */
+public class DebtorIndex {
+
+    private final SortedIntMap<Robot> byPosition = new SortedIntMap<>();
+
+    /** Cantidad de deudores. */
+    public int size() {
+        return byPosition.size();
+    }
+
+    /** Deudor en la posición, o null. */
+    public Robot at(int position) {
+        return byPosition.get(position);
+    }
+
+    /**
+     * Deudores con posición en [from, to], en orden de posición.
+     */
+    public List<Robot> inRange(int from, int to) {
+        List<Robot> out = new ArrayList<>();
+        int i = byPosition.indexOf(from);
+        if (i < 0) i = -i - 1;
+        for (; i < byPosition.size() && byPosition.keyAt(i) <= to; i++) out.add(byPosition.valueAt(i));
+        return out;
+    }
+
+    /** Empieza a seguir al robot, que está en position. */
+    void track(Robot robot, int position) {
+        robot.debtors = this;
+        if (robot.getTenges() < 0) byPosition.put(position, robot);
+    }
+
+    /** Deja de seguir al robot, que estaba en position. */
+    void untrack(Robot robot, int position) {
+        if (robot.debtors != this) return;
+        robot.debtors = null;
+        if (byPosition.get(position) == robot) byPosition.remove(position);
+    }
+
+    /** El robot entró o salió de la deuda. */
+    void tengesChanged(Robot robot) {
+        int position = robot.getCurrentLocation();
+        if (robot.getTenges() < 0) byPosition.put(position, robot);
+        else if (byPosition.get(position) == robot) byPosition.remove(position);
+    }
+
+    /** El robot se movió de from a to. */
+    void moved(Robot robot, int from, int to) {
+        if (from != to && byPosition.get(from) == robot) byPosition.move(from, to);
+    }
+}
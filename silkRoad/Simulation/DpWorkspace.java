@@ -0,0 +1,59 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Buffers reutilizables de la programación dinámica de la maratón.
+ *
+ * La recurrencia solo lee la fila r - 1 para calcular la fila r, así que basta con
+ * dos filas que se intercambian. Los buffers se conservan entre días y crecen al
+ * doble cuando hace falta, por lo que la memoria pico es O(M) y no O(R·M).
+ * Un workspace no es seguro para hilos: cada hilo debe usar el suyo.
+ */
+public class DpWorkspace {
+
+    private long[][] longBuffers = new long[0][];
+    private int[][] intBuffers = new int[0][];
+
+    /**
+     * Devuelve el buffer long del espacio slot con al menos size posiciones.
+     * El contenido previo no se conserva de forma garantizada.
+     */
+    public long[] longs(int slot, int size) {
+        if (slot >= longBuffers.length) {
+            longBuffers = Arrays.copyOf(longBuffers, slot + 1);
+        }
+        long[] buffer = longBuffers[slot];
+        if (buffer == null || buffer.length < size) {
+            buffer = new long[grow(buffer == null ? 0 : buffer.length, size)];
+            longBuffers[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Devuelve el buffer int del espacio slot con al menos size posiciones.
+     */
+    public int[] ints(int slot, int size) {
+        if (slot >= intBuffers.length) {
+            intBuffers = Arrays.copyOf(intBuffers, slot + 1);
+        }
+        int[] buffer = intBuffers[slot];
+        if (buffer == null || buffer.length < size) {
+            buffer = new int[grow(buffer == null ? 0 : buffer.length, size)];
+            intBuffers[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /** Libera todos los buffers reservados. */
+    public void release() {
+        longBuffers = new long[0][];
+        intBuffers = new int[0][];
+    }
+
+    private static int grow(int current, int needed) {
+        long capacity = Math.max((long) current * 2, needed);
+        return (int) Math.min(capacity, Integer.MAX_VALUE - 8);
+    }
+}
@@ -0,0 +1,128 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Registro compacto de eventos de la maratón (estructura de arreglos).
+ *
+ * En lugar de un int[] por día, todos los enteros de todos los eventos viven en un
+ * único arreglo payload. El evento i ocupa payload[offset(i) .. offset(i) + length(i)),
+ * empezando por su tipo, igual que el int[] equivalente. La columna de tipos permite
+ * recorrer los eventos por tipo sin tocar el payload.
+ *
+ * Los accesores devuelven los arreglos internos sin copiarlos; solo son válidas
+ * las primeras size() entradas de types y las primeras offset(size()) del payload.
+ */
+public class EventLog implements EventSource {
+
+    private static final int[] EMPTY_EVENT = new int[0];
+
+    private int[] types;
+    private int[] offsets;
+    private int[] payload;
+    private int size;
+
+    /** Crea un registro vacío. */
+    public EventLog() {
+        this(16, 64);
+    }
+
+    /**
+     * Crea un registro vacío reservando espacio.
+     *
+     * @param expectedEvents cantidad de eventos esperada
+     * @param expectedValues cantidad total de enteros esperada
+     */
+    public EventLog(int expectedEvents, int expectedValues) {
+        types = new int[Math.max(1, expectedEvents)];
+        offsets = new int[Math.max(1, expectedEvents) + 1];
+        payload = new int[Math.max(1, expectedValues)];
+        size = 0;
+    }
+
+    /**
+     * Agrega un evento copiando values[from .. from + length).
+     * Un evento vacío (length 0) representa un día sin datos.
+     */
+    public void add(int[] values, int from, int length) {
+        if (size + 1 >= offsets.length) {
+            int capacity = offsets.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+        }
+        int start = offsets[size];
+        if (start + length > payload.length) {
+            payload = Arrays.copyOf(payload, Math.max(payload.length * 2, start + length));
+        }
+        System.arraycopy(values, from, payload, start, length);
+        types[size] = length > 0 ? values[from] : 0;
+        offsets[size + 1] = start + length;
+        size++;
+    }
+
+    /** Agrega un evento completo; null se guarda como evento vacío. */
+    public void add(int[] event) {
+        if (event == null) add(EMPTY_EVENT, 0, 0);
+        else add(event, 0, event.length);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Tipo del evento i (0 si el evento está vacío). */
+    public int type(int i) {
+        return types[i];
+    }
+
+    /** Cantidad de enteros del evento i, incluido el tipo. */
+    @Override
+    public int length(int i) {
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /** Posición del primer entero (el tipo) del evento i dentro del payload. */
+    public int offset(int i) {
+        return offsets[i];
+    }
+
+    /** k-ésimo entero del evento i (k = 0 es el tipo). */
+    @Override
+    public int value(int i, int k) {
+        return payload[offsets[i] + k];
+    }
+
+    /** Payload compartido, sin copiar. */
+    public int[] payload() {
+        return payload;
+    }
+
+    /** Columna de tipos compartida, sin copiar. */
+    public int[] types() {
+        return types;
+    }
+
+    /**
+     * Convierte el formato clásico int[][] (un arreglo por día) a un registro compacto.
+     */
+    public static EventLog fromDays(int[][] days) {
+        if (days == null) return new EventLog();
+        int total = 0;
+        for (int[] ev : days) if (ev != null) total += ev.length;
+        EventLog log = new EventLog(days.length, total);
+        for (int[] ev : days) log.add(ev);
+        return log;
+    }
+
+    /**
+     * Convierte el registro al formato clásico int[][]. Los eventos vacíos quedan como int[0].
+     */
+    public int[][] toDays() {
+        int[][] days = new int[size][];
+        for (int i = 0; i < size; i++) {
+            days[i] = Arrays.copyOfRange(payload, offsets[i], offsets[i + 1]);
+        }
+        return days;
+    }
+}
@@ -0,0 +1,157 @@
+package Simulation;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lector rápido de enteros para la entrada de la maratón.
+ *
+ * Lee bytes crudos con un buffer grande y reutilizable, sin Scanner ni expresiones
+ * regulares ni objetos Integer. Un token que no es un entero válido se trata como
+ * fin de la entrada, igual que hacía Scanner.hasNextInt en Main.
+ */
+public class EventReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Máximo de valores que siguen al tipo en eventos distintos de 1. */
+    public static final int MAX_EVENT_VALUES = 5;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferLength = 0;
+    private int bufferPos = 0;
+
+    private boolean peeked = false;
+    private boolean peekedValid = false;
+    private int peekedValue;
+    private boolean finished = false;
+
+    public EventReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Indica si el siguiente token es un entero (sin consumirlo).
+     */
+    public boolean hasNextInt() throws IOException {
+        if (!peeked) peekToken();
+        return peekedValid;
+    }
+
+    /**
+     * Devuelve el siguiente entero.
+     *
+     * @throws IOException si no hay un entero disponible
+     */
+    public int nextInt() throws IOException {
+        if (!hasNextInt()) throw new IOException("Se esperaba un entero en la entrada");
+        peeked = false;
+        return peekedValue;
+    }
+
+    /**
+     * Lee la cantidad de días del encabezado, o -1 si no hay datos.
+     */
+    public int readEventCount() throws IOException {
+        if (!hasNextInt()) return -1;
+        return Math.max(0, nextInt());
+    }
+
+    /**
+     * Lee el siguiente evento en scratch (de al menos 1 + MAX_EVENT_VALUES posiciones).
+     * Tipo 1 toma una posición; los demás tipos toman hasta cinco valores.
+     *
+     * @return cantidad de enteros leídos, incluido el tipo (0 si no quedan datos)
+     */
+    public int readEvent(int[] scratch) throws IOException {
+        if (!hasNextInt()) return 0;
+        int count = 0;
+        scratch[count++] = nextInt();
+        int limit = scratch[0] == 1 ? 1 : MAX_EVENT_VALUES;
+        while (count <= limit && hasNextInt()) {
+            scratch[count++] = nextInt();
+        }
+        return count;
+    }
+
+    /**
+     * Lee la entrada completa de la maratón: n y luego n eventos.
+     * Los enteros se escriben directamente en el payload del registro.
+     *
+     * @return los eventos por día, o null si no hay datos
+     */
+    public EventLog readEvents() throws IOException {
+        int n = readEventCount();
+        if (n < 0) return null;
+
+        EventLog events = new EventLog(n, 3 * n);
+        int[] scratch = new int[1 + MAX_EVENT_VALUES];
+        for (int i = 0; i < n; i++) {
+            events.add(scratch, 0, readEvent(scratch));
+        }
+        return events;
+    }
+
+    /**
+     * Igual que readEvents, en el formato clásico de un int[] por día.
+     */
+    public int[][] readDays() throws IOException {
+        EventLog events = readEvents();
+        return events == null ? null : events.toDays();
+    }
+
+    private void peekToken() throws IOException {
+        peeked = true;
+        peekedValid = false;
+        if (finished) return;
+
+        int c = read();
+        while (c != -1 && c <= ' ') c = read();
+        if (c == -1) {
+            finished = true;
+            return;
+        }
+
+        boolean negative = false;
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            c = read();
+        }
+
+        long value = 0;
+        int digits = 0;
+        boolean valid = true;
+        while (c != -1 && c > ' ') {
+            if (c < '0' || c > '9') {
+                valid = false;
+            } else if (valid) {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > (long) Integer.MAX_VALUE + 1) valid = false;
+            }
+            c = read();
+        }
+        if (negative) value = -value;
+
+        if (!valid || digits == 0 || value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            // Igual que Scanner: un token no entero detiene la lectura
+            finished = true;
+            return;
+        }
+        peekedValid = true;
+        peekedValue = (int) value;
+    }
+
+    private int read() throws IOException {
+        if (bufferPos == bufferLength) {
+            bufferLength = in.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+            if (bufferLength <= 0) {
+                bufferLength = 0;
+                return -1;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+}
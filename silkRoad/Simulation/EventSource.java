@@ -0,0 +1,20 @@
+package Simulation;
+
+/**
+ * Secuencia de eventos de la maratón con acceso aleatorio.
+ *
+ * Cada evento es una lista corta de enteros que empieza por su tipo, igual que
+ * los int[] del formato clásico. La implementan el registro en memoria
+ * ({@link EventLog}) y el archivo binario mapeado ({@link MappedEventFile}).
+ */
+public interface EventSource {
+
+    /** Cantidad de eventos (días). */
+    int size();
+
+    /** Cantidad de enteros del evento i, incluido el tipo (0 si está vacío). */
+    int length(int i);
+
+    /** k-ésimo entero del evento i (k = 0 es el tipo). */
+    int value(int i, int k);
+}
@@ -0,0 +1,134 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Motor rápido: misma recurrencia que {@link ReferenceProfitEngine} en O(R·M log M).
+ *
+ * La ganancia del segmento [j, i) para un robot en x se separa en dos partes:
+ *   gain = A(i) - B(j) - min(d(j), d(i-1))
+ * con A(i) = pref[i] - pos[i-1], B(j) = pref[j] - pos[j] y d(k) = |x - pos[k]|.
+ * Como -min(a, b) = max(-a, -b), el mejor inicio j se obtiene con dos consultas
+ * de máximo prefijo (árboles de Fenwick) sobre claves comprimidas:
+ *   - extremo izquierdo más cercano: clave B(j) + d(j) < A(i), valor dp[j] - B(j) - d(j)
+ *   - extremo derecho más cercano:   clave B(j) < A(i) - d(i-1), valor dp[j] - B(j)
+ * La condición gain > 0 queda expresada exactamente por esas dos claves.
+ */
+public class FastProfitEngine implements ProfitEngine {
+
+    private static final long NEG = Long.MIN_VALUE / 4;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // Espacios de buffers dentro del workspace
+    private static final int ROW_A = 0;
+    private static final int ROW_B = 1;
+    private static final int A = 2;
+    private static final int B = 3;
+    private static final int SORTED_B = 4;
+    private static final int KEY_LEFT = 5;
+    private static final int SORTED_LEFT = 6;
+    private static final int TREE_LEFT = 7;
+    private static final int TREE_RIGHT = 8;
+    private static final int RANK_B = 0;
+    private static final int RANK_LEFT = 1;
+
+    @Override
+    public long maxProfit(int[] robots, int robotCount, int[] storePos, long[] pref, int storeCount,
+                          DpWorkspace workspace) {
+        int R = robotCount;
+        int M = storeCount;
+
+        long[] a = workspace.longs(A, M + 1);
+        long[] b = workspace.longs(B, M);
+        for (int i = 1; i <= M; i++) a[i] = pref[i] - storePos[i - 1];
+        for (int j = 0; j < M; j++) b[j] = pref[j] - storePos[j];
+
+        // Las claves del extremo derecho no dependen del robot: se comprimen una vez
+        long[] sortedB = workspace.longs(SORTED_B, M);
+        System.arraycopy(b, 0, sortedB, 0, M);
+        Arrays.sort(sortedB, 0, M);
+        int[] rankB = workspace.ints(RANK_B, M);
+        for (int j = 0; j < M; j++) rankB[j] = lowerBound(sortedB, M, b[j]);
+
+        long[] keyLeft = workspace.longs(KEY_LEFT, M);
+        long[] sortedLeft = workspace.longs(SORTED_LEFT, M);
+        int[] rankLeft = workspace.ints(RANK_LEFT, M);
+        long[] treeLeft = workspace.longs(TREE_LEFT, M + 1);
+        long[] treeRight = workspace.longs(TREE_RIGHT, M + 1);
+
+        long[] prev = workspace.longs(ROW_A, M + 1);
+        long[] cur = workspace.longs(ROW_B, M + 1);
+        Arrays.fill(prev, 0, M + 1, NEG);
+        prev[0] = 0;
+
+        for (int r = 0; r < R; r++) {
+            int x = robots[r];
+
+            for (int j = 0; j < M; j++) {
+                keyLeft[j] = b[j] + Math.abs((long) x - storePos[j]);
+                sortedLeft[j] = keyLeft[j];
+            }
+            Arrays.sort(sortedLeft, 0, M);
+            for (int j = 0; j < M; j++) rankLeft[j] = lowerBound(sortedLeft, M, keyLeft[j]);
+            Arrays.fill(treeLeft, 0, M + 1, EMPTY);
+            Arrays.fill(treeRight, 0, M + 1, EMPTY);
+
+            cur[0] = prev[0];
+            for (int i = 1; i <= M; i++) {
+                // Insertar el inicio j = i - 1 antes de consultar
+                int j = i - 1;
+                if (prev[j] != NEG) {
+                    long c = prev[j] - b[j];
+                    update(treeLeft, M, rankLeft[j], c - (keyLeft[j] - b[j]));
+                    update(treeRight, M, rankB[j], c);
+                }
+
+                long best = prev[i];
+                long dRight = Math.abs((long) x - storePos[i - 1]);
+
+                long q1 = query(treeLeft, lowerBound(sortedLeft, M, a[i]));
+                if (q1 != EMPTY && a[i] + q1 > best) best = a[i] + q1;
+
+                long q2 = query(treeRight, lowerBound(sortedB, M, a[i] - dRight));
+                if (q2 != EMPTY && a[i] - dRight + q2 > best) best = a[i] - dRight + q2;
+
+                cur[i] = best;
+            }
+
+            long[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+
+        long ans = 0;
+        for (int i = 0; i <= M; i++) ans = Math.max(ans, prev[i]);
+        return ans;
+    }
+
+    /** Primera posición con valor >= key dentro de sorted[0..n). */
+    private static int lowerBound(long[] sorted, int n, long key) {
+        int lo = 0, hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Registra value en la posición rank (base 0) de un Fenwick de máximos. */
+    private static void update(long[] tree, int n, int rank, long value) {
+        for (int p = rank + 1; p <= n; p += p & -p) {
+            if (value > tree[p]) tree[p] = value;
+        }
+    }
+
+    /** Máximo de las primeras count posiciones, o EMPTY si no hay ninguna. */
+    private static long query(long[] tree, int count) {
+        long best = EMPTY;
+        for (int p = count; p > 0; p -= p & -p) {
+            if (tree[p] > best) best = tree[p];
+        }
+        return best;
+    }
+}
@@ -0,0 +1,129 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Secuencia creciente de enteros primitivos (sin boxing).
+ *
+ * La capacidad se duplica al llenarse, de modo que agregar cuesta O(1) amortizado
+ * y solo se copia el arreglo interno en cada crecimiento, no en cada inserción.
+ */
+public class IntSequence {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] values;
+    private int size;
+
+    public IntSequence() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntSequence(int initialCapacity) {
+        values = new int[Math.max(1, initialCapacity)];
+        size = 0;
+    }
+
+    /** Agrega un valor al final. */
+    public void add(int value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+
+    /** Inserta un valor en la posición indicada, desplazando los siguientes. */
+    public void insert(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera de [0, " + size + "]");
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Inserta un valor manteniendo la secuencia ordenada de menor a mayor.
+     * Los valores repetidos quedan después de los existentes.
+     */
+    public void insertSorted(int value) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= value) lo = mid + 1;
+            else hi = mid;
+        }
+        insert(lo, value);
+    }
+
+    /**
+     * Ordena los valores de other y los mezcla en esta secuencia, que debe estar
+     * ordenada. Cuesta O(n + k log k) en lugar de las O(n·k) de k insertSorted;
+     * other queda vacía.
+     */
+    public void mergeSorted(IntSequence other) {
+        int k = other.size;
+        if (k == 0) return;
+        Arrays.sort(other.values, 0, k);
+        ensureCapacity(size + k);
+        int i = size - 1, j = k - 1, dst = size + k - 1;
+        while (j >= 0) {
+            if (i >= 0 && values[i] > other.values[j]) values[dst--] = values[i--];
+            else values[dst--] = other.values[j--];
+        }
+        size += k;
+        other.clear();
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera de [0, " + size + ")");
+        }
+        return values[index];
+    }
+
+    public void set(int index, int value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera de [0, " + size + ")");
+        }
+        values[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Cantidad de valores que caben sin crecer. */
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Vacía la secuencia conservando la capacidad reservada. */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Arreglo interno (sin copiar). Solo las primeras size() posiciones son válidas
+     * y deja de ser el arreglo vigente tras el siguiente crecimiento.
+     */
+    public int[] array() {
+        return values;
+    }
+
+    /** Copia exacta de los valores. */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= values.length) return;
+        if (needed > MAX_CAPACITY) throw new OutOfMemoryError("IntSequence no puede crecer más");
+        long capacity = Math.max((long) values.length * 2, needed);
+        values = Arrays.copyOf(values, (int) Math.min(capacity, MAX_CAPACITY));
+    }
+}
@@ -0,0 +1,98 @@
+package Simulation;
+
+import java.util.Random;
+
+/**
+ * Mide cuánto cuesta mantener ProfitLeaderboard en cada movimiento. No es una
+ * prueba: se corre a mano.
+ *
+ * Repite la misma secuencia de movimientos (posición nueva y ganancia) sobre
+ * robots sin tabla y sobre robots en una tabla; la diferencia es el costo del
+ * montículo por movimiento. También compara bestRobot en O(1) con el recorrido
+ * lineal que reemplazó. Cada ronda repite las mediciones; las primeras sirven
+ * para calentar el JIT.
+ *
+ * Uso: java Simulation.LeaderboardBenchmark [movimientos] [robots]
+ */
+public class LeaderboardBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int moves = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int robots = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            long plain = run(moves, robots, null);
+            long t1 = System.nanoTime();
+            ProfitLeaderboard board = new ProfitLeaderboard();
+            long tracked = run(moves, robots, board);
+            long t2 = System.nanoTime();
+
+            if (plain != tracked) throw new IllegalStateException("Las ganancias no coinciden");
+            System.out.printf("ronda %d: sin tabla %.1f ns/mov, con tabla %.1f ns/mov (+%.1f), "
+                    + "bestRobot %.1f ns, recorrido %.1f ns%n",
+                round, (t1 - t0) / (double) moves, (t2 - t1) / (double) moves,
+                ((t2 - t1) - (t1 - t0)) / (double) moves,
+                timeBest(board, moves), timeScan(board, robots, moves));
+        }
+    }
+
+    /**
+     * Aplica los movimientos y devuelve la ganancia total. Con board, cada robot está
+     * en la tabla y se reubica como en SilkRoadModel.moveRobot.
+     */
+    private static long run(int moves, int robotCount, ProfitLeaderboard board) {
+        Random random = new Random(21);
+        Robot[] robots = new Robot[robotCount];
+        for (int i = 0; i < robotCount; i++) {
+            robots[i] = new Robot(i * 10, "blue");
+            if (board != null) board.add(robots[i]);
+        }
+
+        long total = 0;
+        for (int i = 0; i < moves; i++) {
+            Robot r = robots[random.nextInt(robotCount)];
+            int meters = random.nextInt(11) - 5;
+            r.setCurrentLocation(r.getCurrentLocation() + meters);
+            if (board != null) board.update(r);   // la posición desempata
+            int gain = random.nextInt(8) == 0 ? 40 : -Math.abs(meters);
+            r.addProfit(gain, r.getCurrentLocation(), Math.abs(meters));
+            total += gain;
+        }
+        return total;
+    }
+
+    /** ns por consulta del mejor robot leyendo la cima del montículo. */
+    private static double timeBest(ProfitLeaderboard board, int queries) {
+        long sum = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < queries; i++) sum += board.best().getProfit();
+        long t1 = System.nanoTime();
+        if (sum == Long.MIN_VALUE) System.out.println();   // usa el resultado
+        return (t1 - t0) / (double) queries;
+    }
+
+    /** ns por consulta del mejor robot recorriendo todos, como antes de la tabla. */
+    private static double timeScan(ProfitLeaderboard board, int robotCount, int queries) {
+        Robot[] robots = board.top(robotCount).toArray(new Robot[0]);
+        int rounds = Math.max(1, queries / 100);
+        long sum = 0;
+        long t0 = System.nanoTime();
+        for (int q = 0; q < rounds; q++) {
+            Robot best = null;
+            for (Robot r : robots) {
+                if (best == null || r.getProfit() > best.getProfit()
+                        || (r.getProfit() == best.getProfit()
+                            && r.getCurrentLocation() < best.getCurrentLocation())) {
+                    best = r;
+                }
+            }
+            sum += best.getProfit();
+        }
+        long t1 = System.nanoTime();
+        if (sum == Long.MIN_VALUE) System.out.println();   // usa el resultado
+        return (t1 - t0) / (double) rounds;
+    }
+}
@@ -1,65 +1,63 @@
 package Simulation;
 
 import Shapes.*;
-import java.util.*;
+import java.io.*;
+import java.nio.file.*;
 
 /**
  * Clase Main: punto de entrada de la simulación Silk Road.
- * 
- * Lee los datos desde entrada estándar:
+ *
+ * Lee los datos desde entrada estándar (o desde el archivo indicado como argumento):
  *  - n: número de días
  *  - luego, para cada día, una secuencia de enteros (tipo y posiciones)
- * 
+ * El formato se detecta por el número mágico: si la entrada está en el formato
+ * binario de BinaryEventFormat, un archivo se mapea en memoria en lugar de parsearse.
+ *
+ * Con "--convert entrada.txt salida.bin" convierte la entrada de texto al formato binario.
+ *
  * Ejecuta la simulación usando SilkRoadContest y muestra los resultados.
  */
 public class Main {
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        
-        // Verificar si hay datos de entrada
-        if (!sc.hasNextInt()) {
-            System.out.println("No hay datos de entrada.");
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("--convert")) {
+            try (InputStream text = new FileInputStream(args[1])) {
+                long count = BinaryEventFormat.convertText(text, Paths.get(args[2]));
+                System.out.println("Eventos convertidos: " + count);
+            }
             return;
         }
 
-        int n = sc.nextInt(); // Número de días
-        int[][] days = new int[n][];
-
-        // Leer todos los días con validación básica
-        for (int i = 0; i < n; i++) {
-            if (!sc.hasNextInt()) {
-                days[i] = new int[0];
-                continue;
+        if (args.length > 0 && BinaryEventFormat.isBinary(Paths.get(args[0]))) {
+            try (MappedEventFile days = MappedEventFile.open(Paths.get(args[0]))) {
+                run(days);
             }
+            return;
+        }
 
-            int t = sc.nextInt(); // tipo de evento
-
-            // Caso: tipo 1 (solo necesita una posición)
-            if (t == 1) {
-                if (sc.hasNextInt()) {
-                    int x = sc.nextInt();
-                    days[i] = new int[]{t, x};
-                } else {
-                    days[i] = new int[]{t};
-                }
-            } 
-            // Caso: otros tipos (necesitan al menos dos valores más)
-            else {
-                List<Integer> valores = new ArrayList<>();
-                valores.add(t);
-
-                while (sc.hasNextInt()) {
-                    int v = sc.nextInt();
-                    valores.add(v);
+        InputStream in = args.length > 0 ? new FileInputStream(args[0]) : System.in;
 
-                    // Limita a 5 enteros por evento para evitar lecturas infinitas
-                    if (valores.size() > 5) break;
-                }
+        // Leer todos los días con validación básica (tipo 1: una posición; otros: hasta cinco valores)
+        EventLog days;
+        try {
+            BufferedInputStream buffered = new BufferedInputStream(in, 1 << 16);
+            days = startsWithMagic(buffered)
+                ? BinaryEventFormat.read(buffered)
+                : new EventReader(buffered).readEvents();
+        } finally {
+            if (in != System.in) in.close();
+        }
 
-                days[i] = valores.stream().mapToInt(Integer::intValue).toArray();
-            }
+        // Verificar si hay datos de entrada
+        if (days == null) {
+            System.out.println("No hay datos de entrada.");
+            return;
         }
 
+        run(days);
+    }
+
+    /** Resuelve y muestra los resultados de una secuencia de eventos. */
+    private static void run(EventSource days) {
         // Crear el concurso Silk Road
         SilkRoadContest contest = new SilkRoadContest(days);
 
@@ -72,4 +70,20 @@ public class Main {
             System.out.println("Día " + (i + 1) + ": " + result[i]);
         }
     }
+
+    /** Revisa el número mágico del formato binario sin consumir la entrada. */
+    private static boolean startsWithMagic(BufferedInputStream in) throws IOException {
+        in.mark(4);
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            int b = in.read();
+            if (b < 0) {
+                in.reset();
+                return false;
+            }
+            magic |= b << (8 * i);
+        }
+        in.reset();
+        return magic == BinaryEventFormat.MAGIC;
+    }
 }
@@ -0,0 +1,97 @@
+package Simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo de eventos en formato {@link BinaryEventFormat} leído con FileChannel.map.
+ *
+ * Los eventos se leen directamente de las páginas mapeadas, sin parsear texto ni
+ * copiarlos al heap. Como un MappedByteBuffer no puede superar 2 GB, el archivo se
+ * mapea en ventanas de tamaño múltiplo del registro.
+ */
+public class MappedEventFile implements EventSource, Closeable {
+
+    /** Registros por ventana mapeada (un poco menos de 1 GB por ventana). */
+    private static final int RECORDS_PER_WINDOW = (1 << 30) / BinaryEventFormat.RECORD_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final int size;
+
+    private MappedEventFile(FileChannel channel, MappedByteBuffer[] windows, int size) {
+        this.channel = channel;
+        this.windows = windows;
+        this.size = size;
+    }
+
+    /**
+     * Abre y mapea un archivo binario de eventos, validando su encabezado y tamaño.
+     */
+    public static MappedEventFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                Math.min(channel.size(), BinaryEventFormat.HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.capacity() < BinaryEventFormat.HEADER_BYTES) {
+                throw new IOException("Archivo de eventos truncado");
+            }
+            long count = BinaryEventFormat.checkHeader(header);
+            long expected = BinaryEventFormat.HEADER_BYTES + count * BinaryEventFormat.RECORD_BYTES;
+            if (channel.size() < expected) throw new IOException("Archivo de eventos truncado");
+
+            int windowCount = (int) ((count + RECORDS_PER_WINDOW - 1) / RECORDS_PER_WINDOW);
+            MappedByteBuffer[] windows = new MappedByteBuffer[windowCount];
+            for (int w = 0; w < windowCount; w++) {
+                long first = (long) w * RECORDS_PER_WINDOW;
+                long records = Math.min(RECORDS_PER_WINDOW, count - first);
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    BinaryEventFormat.HEADER_BYTES + first * BinaryEventFormat.RECORD_BYTES,
+                    records * BinaryEventFormat.RECORD_BYTES);
+                windows[w].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedEventFile(channel, windows, (int) count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int length(int i) {
+        int len = windows[i / RECORDS_PER_WINDOW].getInt(recordOffset(i));
+        if (len < 0 || len > BinaryEventFormat.MAX_EVENT_INTS) {
+            throw new IllegalStateException("Registro corrupto en el evento " + i);
+        }
+        return len;
+    }
+
+    @Override
+    public int value(int i, int k) {
+        return windows[i / RECORDS_PER_WINDOW].getInt(recordOffset(i) + (1 + k) * Integer.BYTES);
+    }
+
+    private static int recordOffset(int i) {
+        return (i % RECORDS_PER_WINDOW) * BinaryEventFormat.RECORD_BYTES;
+    }
+
+    /**
+     * Cierra el canal. Las páginas mapeadas se liberan cuando el recolector
+     * descarta las ventanas.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
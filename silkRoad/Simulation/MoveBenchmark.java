@@ -0,0 +1,111 @@
+package Simulation;
+
+import java.util.Random;
+
+/**
+ * Mide el costo de un movimiento sin ventana. No es una prueba: se corre a mano.
+ *
+ * Compara cómo decide un movimiento qué reglas aplicar: con getClass().getSimpleName()
+ * y el color, como antes, o con los métodos que cada tipo de robot redefine
+ * (canMove, isPolice). Luego mide moveRobot completo sobre SilkRoadModel.
+ * Cada ronda repite las mediciones; las primeras sirven para calentar el JIT.
+ *
+ * Uso: java Simulation.MoveBenchmark [comprobaciones] [movimientos]
+ */
+public class MoveBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final int ROAD = 1_000_000;
+    private static final int ROBOTS = 1024;
+
+    public static void main(String[] args) throws SilkRoadException {
+        int checks = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int moves = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        Random random = new Random(14);
+        Robot[] robots = new Robot[ROBOTS];
+        int[] meters = new int[ROBOTS];
+        for (int i = 0; i < ROBOTS; i++) {
+            robots[i] = newRobot(i % 4, i);
+            meters[i] = random.nextInt(11) - 5;
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            long byName = checkByName(robots, meters, checks);
+            long t1 = System.nanoTime();
+            long byHooks = checkByHooks(robots, meters, checks);
+            long t2 = System.nanoTime();
+            long profit = moveAll(moves);
+            long t3 = System.nanoTime();
+
+            if (byName != byHooks) throw new IllegalStateException("Las comprobaciones no coinciden");
+            System.out.printf("ronda %d: por nombre %.1f ns, por métodos %.1f ns, moveRobot %.1f ns (ganancia %d)%n",
+                round, (t1 - t0) / (double) checks, (t2 - t1) / (double) checks,
+                (t3 - t2) / (double) moves, profit);
+        }
+    }
+
+    /** Robot de un tipo (0 normal, 1 neverback, 2 tender, 3 policía). */
+    private static Robot newRobot(int type, int position) {
+        switch (type) {
+            case 1: return new RobotNeverBack(position, "orange");
+            case 2: return new RobotTender(position, "green");
+            case 3: return new RobotPolice(position, "cyan");
+            default: return new Robot(position, "blue");
+        }
+    }
+
+    /** Las comprobaciones de tipo que hacía un movimiento antes de los métodos redefinibles. */
+    private static long checkByName(Robot[] robots, int[] meters, int n) {
+        long accepted = 0;
+        for (int i = 0; i < n; i++) {
+            Robot r = robots[i & (ROBOTS - 1)];
+            int m = meters[i & (ROBOTS - 1)];
+            if (r.getClass().getSimpleName().equals("RobotNeverBack") && m < 0) continue;
+            boolean tender = r.getClass().getSimpleName().equals("RobotTender");
+            boolean records = !r.getClass().getSimpleName().equals("RobotTender");
+            boolean police = r.getColor().equalsIgnoreCase("cyan");
+            accepted += (tender ? 1 : 0) + (records ? 2 : 0) + (police ? 4 : 0);
+        }
+        return accepted;
+    }
+
+    /** Las mismas decisiones con despacho virtual. */
+    private static long checkByHooks(Robot[] robots, int[] meters, int n) {
+        long accepted = 0;
+        for (int i = 0; i < n; i++) {
+            Robot r = robots[i & (ROBOTS - 1)];
+            int m = meters[i & (ROBOTS - 1)];
+            if (!r.canMove(m)) continue;
+            // visitStore y recordMove ya despachan por tipo; el instanceof solo iguala el resultado
+            boolean tender = r instanceof RobotTender;
+            accepted += (tender ? 1 : 2) + (r.isPolice() ? 4 : 0);
+        }
+        return accepted;
+    }
+
+    /**
+     * Movimientos completos sin ventana: robots de tipos mezclados sobre una ruta
+     * larga (casi no chocan) con una tienda cada 100 metros.
+     */
+    private static long moveAll(int moves) throws SilkRoadException {
+        Random random = new Random(15);
+        SilkRoadModel model = new SilkRoadModel(ROAD);
+        for (int pos = 0; pos < ROAD; pos += 100) model.placeStore(pos, 50, "normal");
+        String[] types = {"normal", "neverback", "tender"};
+        Robot[] robots = new Robot[ROBOTS];
+        for (int i = 0; i < ROBOTS; i++) {
+            robots[i] = model.placeRobot(i * (ROAD / ROBOTS) + 50, types[i % types.length]);
+        }
+
+        for (int i = 0; i < moves; i++) {
+            Robot r = robots[random.nextInt(ROBOTS)];
+            int from = r.getCurrentLocation();
+            if (model.robotAt(from) != r) continue;   // lo desplazó otro robot
+            model.moveRobot(from, random.nextInt(11) - 5);
+            if ((i & 0xFFFF) == 0) model.resupplyStores();
+        }
+        return model.profit();
+    }
+}
@@ -0,0 +1,105 @@
+package Simulation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Motor paralelo: la recurrencia de {@link ReferenceProfitEngine} repartida en un ForkJoinPool.
+ *
+ * Dentro de la fila de un robot, cada celda dp[r][i] depende solo de dp[r-1][0..i],
+ * así que la fila se divide en tramos que se calculan en paralelo. Cada celda se
+ * calcula con el mismo código que el motor de referencia, por lo que el resultado
+ * es idéntico. Las filas con pocas celdas se calculan de forma secuencial.
+ */
+public class ParallelProfitEngine implements ProfitEngine {
+
+    /** Celdas por tramo por debajo de las cuales no se divide el trabajo. */
+    public static final int DEFAULT_THRESHOLD = 512;
+
+    private static final int ROW_A = 0;
+    private static final int ROW_B = 1;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /** Crea un motor sobre el pool común con el umbral por defecto. */
+    public ParallelProfitEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Crea un motor sobre un pool dado.
+     *
+     * @param pool      pool donde se ejecutan los tramos
+     * @param threshold celdas mínimas de un tramo para dividirlo en dos
+     */
+    public ParallelProfitEngine(ForkJoinPool pool, int threshold) {
+        if (pool == null) throw new IllegalArgumentException("El pool no puede ser nulo");
+        this.pool = pool;
+        this.threshold = Math.max(1, threshold);
+    }
+
+    @Override
+    public long maxProfit(int[] robots, int robotCount, int[] storePos, long[] pref, int storeCount,
+                          DpWorkspace workspace) {
+        int R = robotCount;
+        int M = storeCount;
+
+        long[] prev = workspace.longs(ROW_A, M + 1);
+        long[] cur = workspace.longs(ROW_B, M + 1);
+        Arrays.fill(prev, 0, M + 1, ReferenceProfitEngine.NEG);
+        prev[0] = 0;
+
+        for (int r = 0; r < R; r++) {
+            if (M + 1 <= threshold) {
+                ReferenceProfitEngine.computeRow(robots[r], storePos, pref, prev, cur, 0, M + 1);
+            } else {
+                pool.invoke(new RowTask(robots[r], storePos, pref, prev, cur, 0, M + 1));
+            }
+            long[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+
+        long ans = 0;
+        for (int i = 0; i <= M; i++) ans = Math.max(ans, prev[i]);
+        return ans;
+    }
+
+    /**
+     * Tramo [from, to) de una fila. Se divide por la mitad mientras supere el umbral.
+     */
+    private class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int robotPos;
+        private final int[] storePos;
+        private final long[] pref;
+        private final long[] prev;
+        private final long[] cur;
+        private final int from;
+        private final int to;
+
+        RowTask(int robotPos, int[] storePos, long[] pref, long[] prev, long[] cur, int from, int to) {
+            this.robotPos = robotPos;
+            this.storePos = storePos;
+            this.pref = pref;
+            this.prev = prev;
+            this.cur = cur;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                ReferenceProfitEngine.computeRow(robotPos, storePos, pref, prev, cur, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(robotPos, storePos, pref, prev, cur, from, mid),
+                      new RowTask(robotPos, storePos, pref, prev, cur, mid, to));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Índice de ocupación: posición (int) → objeto, sin cajas Integer.
+ *
+ * Tabla hash de direccionamiento abierto con sondeo lineal. Las búsquedas,
+ * inserciones y borrados son O(1) en promedio; el borrado desplaza hacia atrás
+ * los elementos del mismo grupo, así que no quedan lápidas.
+ * No admite valores null (una casilla null está libre).
+ */
+public class PositionIndex<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift;
+    private int size;
+
+    /** Crea un índice vacío. */
+    public PositionIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /** Crea un índice vacío con espacio para expected posiciones sin crecer. */
+    public PositionIndex(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expected * 2) capacity <<= 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /** Hash de Fibonacci: usa los bits altos del producto, que mezclan toda la clave. */
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /** Devuelve el objeto en la posición, o null si está libre. */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return (V) values[i];
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Ocupa la posición con value.
+     *
+     * @return el objeto que ocupaba la posición, o null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) throw new IllegalArgumentException("El índice no admite valores null");
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) rehash(keys.length * 2);
+        return null;
+    }
+
+    /**
+     * Libera la posición.
+     *
+     * @return el objeto que la ocupaba, o null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) break;
+        }
+        if (values[i] == null) return null;
+        V old = (V) values[i];
+
+        // Desplazar hacia atrás los elementos que quedarían inalcanzables
+        int hole = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = null;
+        size--;
+        return old;
+    }
+
+    /** Posiciones ocupadas, en un orden cualquiera. O(capacidad). */
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) result[n++] = keys[i];
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+            int j = slot(oldKeys[i]);
+            while (values[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+}
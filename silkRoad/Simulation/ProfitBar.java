@@ -6,6 +6,7 @@ import Shapes.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.GraphicsEnvironment;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * ProfitBar: barra de progreso visual que muestra permanentemente
@@ -15,13 +16,18 @@ import java.awt.GraphicsEnvironment;
  *  - La ganancia se muestra como una barra de progreso
  *  - El máximo representa la ganancia máxima posible
  *  - No muestra números ni texto adicional
+ *
+ * Los cambios solo se anotan; la barra se actualiza una vez, en el hilo de Swing,
+ * con el último valor. Así una tanda de movimientos cuesta una sola actualización
+ * y el camino de cada movimiento no toca el componente.
  */
 public class ProfitBar {
     private final JProgressBar bar;
     private final JFrame frame;
-    private int maxProfit;
-    private int currentProfit;
+    private volatile int maxProfit;
+    private volatile int currentProfit;
     private final boolean uiEnabled;
+    private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
 
     public ProfitBar(int maxProfit) {
         this.maxProfit = maxProfit;
@@ -55,21 +61,42 @@ public class ProfitBar {
 
     /** Actualiza la ganancia mostrada */
     public void updateProfit(int profit) {
-        this.currentProfit = Math.min(profit, maxProfit);
-        bar.setValue(this.currentProfit);
+        this.currentProfit = profit;
+        scheduleUpdate();
     }
 
     /** Cambia el máximo de ganancias posibles */
     public void setMaxProfit(int maxProfit) {
         this.maxProfit = maxProfit;
-        bar.setMaximum(maxProfit);
-        updateProfit(currentProfit);
+        scheduleUpdate();
     }
 
     /** Resetea la barra de progreso a cero */
     public void reset() {
         this.currentProfit = 0;
-        bar.setValue(0);
+        scheduleUpdate();
+    }
+
+    /** Ganancia mostrada (la última aplicada a la barra). */
+    public int getDisplayedProfit() {
+        return bar.getValue();
+    }
+
+    /** Máximo mostrado (el último aplicado a la barra). */
+    public int getDisplayedMaxProfit() {
+        return bar.getMaximum();
+    }
+
+    /** Pide una actualización de la barra si no hay una pendiente. */
+    private void scheduleUpdate() {
+        if (updateScheduled.compareAndSet(false, true)) SwingUtilities.invokeLater(this::applyUpdate);
+    }
+
+    private void applyUpdate() {
+        updateScheduled.set(false);  // antes de leer: un cambio posterior pide otra
+        int max = maxProfit;
+        bar.setMaximum(max);
+        bar.setValue(Math.min(currentProfit, max));
     }
 
     /** Cierra la barra si ya no es necesaria */
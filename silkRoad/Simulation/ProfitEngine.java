@@ -0,0 +1,40 @@
+package Simulation;
+
+/**
+ * Motor de cálculo de la ganancia máxima de un día en la maratón.
+ *
+ * Recibe los robots ordenados por posición y las tiendas ordenadas con sus
+ * sumas prefijas de tenges. Todas las implementaciones deben entregar
+ * exactamente el mismo resultado que {@link ReferenceProfitEngine}.
+ */
+public interface ProfitEngine {
+
+    /**
+     * Calcula la ganancia máxima del día usando solo los primeros elementos
+     * de cada arreglo, para poder trabajar sobre buffers reutilizables.
+     *
+     * @param robots     posiciones de los robots, ordenadas de menor a mayor
+     * @param robotCount cantidad de robots válidos en robots
+     * @param storePos   posiciones de las tiendas, ordenadas de menor a mayor
+     * @param pref       sumas prefijas de tenges (pref[0] = 0)
+     * @param storeCount cantidad de tiendas válidas en storePos
+     * @param workspace  buffers reutilizables entre llamadas (uno por hilo)
+     * @return ganancia máxima (nunca negativa)
+     */
+    long maxProfit(int[] robots, int robotCount, int[] storePos, long[] pref, int storeCount,
+                   DpWorkspace workspace);
+
+    /**
+     * Calcula la ganancia máxima del día con buffers temporales propios.
+     */
+    default long maxProfit(int[] robots, int robotCount, int[] storePos, long[] pref, int storeCount) {
+        return maxProfit(robots, robotCount, storePos, pref, storeCount, new DpWorkspace());
+    }
+
+    /**
+     * Calcula la ganancia máxima del día con arreglos exactos.
+     */
+    default long maxProfit(int[] robots, int[] storePos, long[] pref) {
+        return maxProfit(robots, robots.length, storePos, pref, storePos.length);
+    }
+}
@@ -0,0 +1,176 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tabla de posiciones de los robots por ganancia, al día en cada cambio.
+ *
+ * Es un montículo binario de máximos indexado: cada robot guarda su lugar en el
+ * arreglo, así que actualizar la ganancia o la posición de uno cuesta O(log R) y
+ * el mejor se lee en O(1). Los K mejores se sacan recorriendo el montículo con una
+ * cola auxiliar de candidatos, en O(K log K), sin tocar el resto.
+ *
+ * Orden: mayor ganancia primero; entre empates, la menor posición actual (el mismo
+ * resultado que recorrer los robots por posición quedándose con el primer máximo).
+ * Los policías no compiten y no se agregan.
+ */
+public class ProfitLeaderboard {
+
+    private Robot[] heap = new Robot[16];
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Indica si el robot está en la tabla. */
+    public boolean contains(Robot robot) {
+        return robot.boardIndex >= 0 && robot.board == this;
+    }
+
+    /**
+     * Agrega un robot (los policías se ignoran). Si ya estaba, solo lo reubica.
+     */
+    public void add(Robot robot) {
+        if (robot.isPolice()) return;
+        if (contains(robot)) {
+            update(robot);
+            return;
+        }
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        robot.board = this;
+        robot.boardIndex = size;
+        heap[size++] = robot;
+        siftUp(robot.boardIndex);
+    }
+
+    /** Quita un robot de la tabla, si estaba. */
+    public void remove(Robot robot) {
+        if (!contains(robot)) return;
+        int i = robot.boardIndex;
+        Robot last = heap[--size];
+        heap[size] = null;
+        robot.boardIndex = -1;
+        robot.board = null;
+        if (i == size) return;
+        heap[i] = last;
+        last.boardIndex = i;
+        if (!siftUp(i)) siftDown(i);
+    }
+
+    /**
+     * Reubica un robot cuya ganancia o posición cambió. O(log R).
+     */
+    public void update(Robot robot) {
+        if (!contains(robot)) return;
+        int i = robot.boardIndex;
+        if (!siftUp(i)) siftDown(i);
+    }
+
+    /** Vacía la tabla. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].boardIndex = -1;
+            heap[i].board = null;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    /** El robot con mayor ganancia, o null si no hay. O(1). */
+    public Robot best() {
+        return size > 0 ? heap[0] : null;
+    }
+
+    /**
+     * Los k robots con mayor ganancia, de mayor a menor. O(k log k).
+     */
+    public List<Robot> top(int k) {
+        int n = Math.min(Math.max(k, 0), size);
+        List<Robot> out = new ArrayList<>(n);
+        if (n == 0) return out;
+
+        // cola de candidatos: índices del montículo, ordenados como el montículo
+        int[] queue = new int[2 * n + 1];
+        int queued = 0;
+        queue[queued++] = 0;
+        while (out.size() < n) {
+            int i = queue[0];
+            queue[0] = queue[--queued];
+            siftDownQueue(queue, queued, 0);
+            out.add(heap[i]);
+            for (int c = 2 * i + 1; c <= 2 * i + 2 && c < size; c++) {
+                queue[queued] = c;
+                siftUpQueue(queue, queued++);
+            }
+        }
+        return out;
+    }
+
+    /** true si a va antes que b en la tabla. */
+    private static boolean before(Robot a, Robot b) {
+        if (a.getProfit() != b.getProfit()) return a.getProfit() > b.getProfit();
+        return a.getCurrentLocation() < b.getCurrentLocation();
+    }
+
+    private boolean siftUp(int i) {
+        int start = i;
+        Robot r = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(r, heap[parent])) break;
+            heap[i] = heap[parent];
+            heap[i].boardIndex = i;
+            i = parent;
+        }
+        heap[i] = r;
+        r.boardIndex = i;
+        return i != start;
+    }
+
+    private void siftDown(int i) {
+        Robot r = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], r)) break;
+            heap[i] = heap[child];
+            heap[i].boardIndex = i;
+            i = child;
+        }
+        heap[i] = r;
+        r.boardIndex = i;
+    }
+
+    private void siftUpQueue(int[] q, int i) {
+        int v = q[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(heap[v], heap[q[parent]])) break;
+            q[i] = q[parent];
+            i = parent;
+        }
+        q[i] = v;
+    }
+
+    private void siftDownQueue(int[] q, int n, int i) {
+        if (n == 0) return;
+        int v = q[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) break;
+            if (child + 1 < n && before(heap[q[child + 1]], heap[q[child]])) child++;
+            if (!before(heap[q[child]], heap[v])) break;
+            q[i] = q[child];
+            i = child;
+        }
+        q[i] = v;
+    }
+}
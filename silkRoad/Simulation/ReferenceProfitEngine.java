@@ -0,0 +1,69 @@
+package Simulation;
+
+import java.util.Arrays;
+
+/**
+ * Motor de referencia: programación dinámica directa en O(R·M²).
+ *
+ * dp[r][i] es la mejor ganancia usando los primeros r robots y las primeras i tiendas.
+ * Cada robot toma un segmento contiguo de tiendas [j, i) y gana
+ * sum - (span + dist) solo si ese valor es positivo.
+ * Solo se guardan las filas r - 1 y r, tomadas del workspace.
+ * Se conserva para verificar cruzadamente los motores más rápidos.
+ */
+public class ReferenceProfitEngine implements ProfitEngine {
+
+    static final long NEG = Long.MIN_VALUE / 4;
+
+    private static final int ROW_A = 0;
+    private static final int ROW_B = 1;
+
+    @Override
+    public long maxProfit(int[] robots, int robotCount, int[] storePos, long[] pref, int storeCount,
+                          DpWorkspace workspace) {
+        int R = robotCount;
+        int M = storeCount;
+
+        long[] prev = workspace.longs(ROW_A, M + 1);
+        long[] cur = workspace.longs(ROW_B, M + 1);
+        Arrays.fill(prev, 0, M + 1, NEG);
+        prev[0] = 0;
+
+        for (int r = 1; r <= R; r++) {
+            computeRow(robots[r - 1], storePos, pref, prev, cur, 0, M + 1);
+            long[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+
+        long ans = 0;
+        for (int i = 0; i <= M; i++) ans = Math.max(ans, prev[i]);
+        return ans;
+    }
+
+    /**
+     * Calcula las celdas cur[from..to) de la fila de un robot a partir de la fila anterior.
+     * Cada celda depende solo de prev[0..i], así que tramos distintos son independientes.
+     */
+    static void computeRow(int robotPos, int[] storePos, long[] pref, long[] prev, long[] cur,
+                           int from, int to) {
+        for (int i = from; i < to; i++) {
+            long best = prev[i];
+            for (int j = 0; j < i; j++) {
+                if (prev[j] == NEG) continue;
+
+                long sum = pref[i] - pref[j];
+                int L = storePos[j];
+                int Rpos = storePos[i - 1];
+                long span = Rpos - L;
+                long dist = Math.min(Math.abs(robotPos - L), Math.abs(robotPos - Rpos));
+                long gain = sum - (span + dist);
+
+                if (gain > 0 && prev[j] + gain > best) {
+                    best = prev[j] + gain;
+                }
+            }
+            cur[i] = best;
+        }
+    }
+}
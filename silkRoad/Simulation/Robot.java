@@ -8,33 +8,39 @@ import java.util.List;
 
 /**
  * Representa un robot en un espacio horizontal basado en celdas.
- * La representación visual usa Circle para cuerpo y ojos, Rectangle para la boca.
+ * La representación visual es un CompositeShape: cuerpo y ojos circulares, boca rectangular.
  *
- * Las shapes se crean en placeInCell(Cell) y se controlan con makeVisible/makeInvisible.
+ * El dibujo se arma en placeInCell(Cell) y se controla con makeVisible/makeInvisible.
+ * Mientras no cambie el tamaño de celda, moverlo solo desplaza el grupo (una operación del Canvas).
  */
 public class Robot {
 
     private final int initialLocation;
     private int currentLocation;
     private int orderOfArrival;
-    private Circle shape;     // cuerpo
-    private Circle eyeLeft;
-    private Circle eyeRight;
-    private Rectangle mouth;
+    /** Índices de las partes del dibujo. */
+    public static final int BODY = 0, EYE_LEFT = 1, EYE_RIGHT = 2, MOUTH = 3;
+
+    private CompositeShape sprite;
+    private int spriteCellSize;
     private final String color;
     private boolean isVisible;
     private int tenges;
     private int profit;
     private final List<ProfitRecord> profitRecords;
 
+    // lugar en la tabla de posiciones del modelo (ProfitLeaderboard), -1 si no está
+    ProfitLeaderboard board;
+    int boardIndex = -1;
+    // índice de deudores del modelo (DebtorIndex), o null
+    DebtorIndex debtors;
+
     public Robot(int location, String color) {
         this.initialLocation = location;
         this.currentLocation = location;
         this.color = color;
-        this.shape = null;
-        this.eyeLeft = null;
-        this.eyeRight = null;
-        this.mouth = null;
+        this.sprite = null;
+        this.spriteCellSize = -1;
         this.isVisible = false;
         this.tenges = 0;
         this.orderOfArrival = 0;
@@ -57,57 +63,47 @@ public class Robot {
     }
 
     /**
-     * Coloca el robot dentro de una celda, centrado, y crea las shapes (cuerpo, ojos, boca).
-     * Si las shapes ya existen, las actualiza y reposiciona.
+     * Coloca el robot dentro de una celda, centrado. La primera vez (o si cambia el
+     * tamaño de celda) arma el dibujo; después solo lo desplaza.
      */
     public void placeInCell(Cell cell) {
         if (cell == null) return;
 
-        int cx = cell.getX();
-        int cy = cell.getY();
         int cellSize = cell.getSize();
+        if (sprite == null) sprite = new CompositeShape();
+        if (spriteCellSize != cellSize) {
+            buildSprite(cellSize);
+            spriteCellSize = cellSize;
+        }
+        sprite.setAbsolutePosition(cell.getX(), cell.getY());
 
+        // visibilidad coherente
+        if (isVisible) sprite.makeVisible();
+        else sprite.makeInvisible();
+    }
+
+    /**
+     * Arma cuerpo, ojos y boca relativos a la esquina de una celda de cellSize.
+     */
+    private void buildSprite(int cellSize) {
         int bodySize = (int) (cellSize * 0.7);
         int offset = (cellSize - bodySize) / 2;
-        int targetX = cx + offset;
-        int targetY = cy + offset;
-
-        // cuerpo
-        if (shape == null) shape = new Circle();
-        shape.changeSize(bodySize);
-        shape.changeColor(color);
-        shape.setAbsolutePosition(targetX, targetY);
-
-        // ojos
         int eyeSize = Math.max(4, bodySize / 5);
-        if (eyeLeft == null) eyeLeft = new Circle();
-        eyeLeft.changeSize(eyeSize);
-        eyeLeft.changeColor("white");
-        eyeLeft.setAbsolutePosition(targetX + bodySize / 4, targetY + bodySize / 4);
-
-        if (eyeRight == null) eyeRight = new Circle();
-        eyeRight.changeSize(eyeSize);
-        eyeRight.changeColor("white");
-        eyeRight.setAbsolutePosition(targetX + (bodySize / 2), targetY + bodySize / 4);
-
-        // boca
-        if (mouth == null) mouth = new Rectangle();
-        mouth.changeSize(Math.max(3, bodySize / 10), bodySize / 2);
-        mouth.changeColor("black");
-        mouth.setAbsolutePosition(targetX + (bodySize / 4), targetY + (2 * bodySize / 3));
 
-        // visibilidad coherente
-        if (isVisible) {
-            if (shape != null) shape.makeVisible();
-            if (eyeLeft != null) eyeLeft.makeVisible();
-            if (eyeRight != null) eyeRight.makeVisible();
-            if (mouth != null) mouth.makeVisible();
-        } else {
-            if (shape != null) shape.makeInvisible();
-            if (eyeLeft != null) eyeLeft.makeInvisible();
-            if (eyeRight != null) eyeRight.makeInvisible();
-            if (mouth != null) mouth.makeInvisible();
-        }
+        sprite.clearParts();
+        sprite.addEllipse(offset, offset, bodySize, bodySize, color);
+        sprite.addEllipse(offset + bodySize / 4, offset + bodySize / 4, eyeSize, eyeSize, eyeColor());
+        sprite.addEllipse(offset + bodySize / 2, offset + bodySize / 4, eyeSize, eyeSize, eyeColor());
+        sprite.addRectangle(offset + bodySize / 4, offset + 2 * bodySize / 3,
+            bodySize / 2, Math.max(3, bodySize / 10), "black");
+        sprite.setSpriteKind("robot", cellSize);
+    }
+
+    /**
+     * Color de los ojos; cada tipo de robot puede cambiarlo.
+     */
+    protected String eyeColor() {
+        return "white";
     }
 
     public int getCurrentLocation() {
@@ -148,20 +144,14 @@ public class Robot {
     public void makeVisible() {
         if (!isVisible) {
             isVisible = true;
-            if (shape != null) shape.makeVisible();
-            if (eyeLeft != null) eyeLeft.makeVisible();
-            if (eyeRight != null) eyeRight.makeVisible();
-            if (mouth != null) mouth.makeVisible();
+            if (sprite != null) sprite.makeVisible();
         }
     }
 
     public void makeInvisible() {
         if (isVisible) {
             isVisible = false;
-            if (shape != null) shape.makeInvisible();
-            if (eyeLeft != null) eyeLeft.makeInvisible();
-            if (eyeRight != null) eyeRight.makeInvisible();
-            if (mouth != null) mouth.makeInvisible();
+            if (sprite != null) sprite.makeInvisible();
         }
     }
 
@@ -173,6 +163,7 @@ public class Robot {
     int net = amount;
     this.profit += net;
     this.profitRecords.add(new ProfitRecord(net, cell, distance));
+    if (board != null) board.update(this);
     }
 
     public int getProfit() {
@@ -198,20 +189,25 @@ public class Robot {
     }
 
     public void addTenges(int amount) {
+        boolean wasDebtor = tenges < 0;
         this.tenges += amount;
+        if (debtors != null && wasDebtor != (tenges < 0)) debtors.tengesChanged(this);
     }
 
     /**
-     * Hace parpadear al robot (visual). Solo si la forma existe.
+     * Hace parpadear el cuerpo del robot sin bloquear (visual). Solo si la forma existe.
+     *
+     * @return el efecto en curso, para poder cancelarlo, o null si no hay forma
      */
-    public void blink() {
-        if (shape != null) shape.discoTime(100);
+    public BlinkEffect blink() {
+        if (sprite == null) return null;
+        BlinkEffect effect = new BlinkEffect(sprite, BODY, 100);
+        effect.start();
+        return effect;
     }
 
-    public Circle getBodyShape() { return shape; }
-    public Circle getEyeLeftShape() { return eyeLeft; }
-    public Circle getEyeRightShape() { return eyeRight; }
-    public Rectangle getMouthShape() { return mouth; }
+    /** Dibujo del robot (null hasta placeInCell); las partes son BODY, EYE_LEFT, EYE_RIGHT y MOUTH. */
+    public CompositeShape getSprite() { return sprite; }
 
     @Override
     public String toString() {
@@ -222,4 +218,35 @@ public class Robot {
     
     public void onRemoved() {}
 
+    // --- Comportamiento: cada tipo de robot sobrescribe solo lo que cambia ---
+
+    /**
+     * Indica si el robot acepta moverse esa cantidad de metros.
+     */
+    public boolean canMove(int meters) {
+        return true;
+    }
+
+    /**
+     * Interactúa con la tienda (con tenges) del destino y devuelve la ganancia del movimiento.
+     * Por defecto la tienda entrega todo lo que tiene.
+     */
+    public int visitStore(Store store, int distance) {
+        return store.serve(this, distance);
+    }
+
+    /**
+     * Registra la ganancia de un movimiento terminado en cell.
+     */
+    public void recordMove(int gain, int cell, int distance) {
+        addProfit(gain, cell, distance);
+    }
+
+    /**
+     * Indica si el robot es de policía (no compite por la mayor ganancia).
+     */
+    public boolean isPolice() {
+        return false;
+    }
+
 }
@@ -15,6 +15,11 @@ public class RobotNeverBack extends Robot {
         super.move(meters);
     }
 
+    @Override
+    public boolean canMove(int meters) {
+        return meters >= 0;
+    }
+
     @Override
     public String toString() {
         return "RobotNeverBack{loc=" + getCurrentLocation() + ", profit=" + getProfit() + "}";
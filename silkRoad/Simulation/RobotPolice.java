@@ -14,6 +14,9 @@ public class RobotPolice extends Robot {
 
     private int robotsRemoved = 0;
     private int patrolRange = 10;
+    // tramo propio cuando es una de varias unidades (SilkRoadModel.activatePolice(int)); -1 si no tiene
+    private int segmentStart = -1;
+    private int segmentEnd = -1;
     
     /**
      * Crea un RobotPolice en una posición inicial dentro del recorrido
@@ -32,22 +35,91 @@ public class RobotPolice extends Robot {
      * Este método no mueve al policía; solo actúa sobre su posición actual.
      */
     public void patrol(SilkRoad road) {
-        Cell[] cells = road.getCells();
+        patrol(road.getModel());
+    }
+
+    /**
+     * Igual que patrol(SilkRoad), sobre el modelo sin parte gráfica.
+     * Si el modelo tiene observadores (por ejemplo, la SilkRoad visual), ellos borran al robot.
+     */
+    public void patrol(SilkRoadModel road) {
         int currentPos = getCurrentLocation();
-    
-        // Buscar si hay un robot con tenges negativos en esta posición
-        Map<Integer, Robot> robots = road.getRobotsMap();  // vamos a agregar este getter en SilkRoad
-    
-        for (Robot r : new ArrayList<>(robots.values())) {
-            if (r != null && r != this && r.getCurrentLocation() == currentPos && r.getTenges() < 0) {
-                // Eliminar visualmente y del mapa
-                road.removeRobotAtPosition(currentPos);
-                robotsRemoved++; // contador local del police
-                break; // solo elimina uno por turno
-            }
+
+        // Buscar en el índice de deudores si hay un robot con tenges negativos en esta posición
+        Robot r = road.debtorAt(currentPos);
+        if (r != null && r != this) {
+            // Eliminar del modelo (y visualmente, vía observadores)
+            road.removeRobotAtPosition(currentPos);
+            robotsRemoved++; // contador local del police (solo hay uno por posición)
         }
     }
 
+    /**
+     * Patrulla el tramo [posición - patrolRange, posición + patrolRange] y elimina
+     * a todos los robots con tenges negativos que encuentre, en orden de posición.
+     * Usa el índice de deudores del modelo: O(log R + k) para k eliminados.
+     *
+     * @return cantidad de robots eliminados
+     */
+    public int rangePatrol(SilkRoad road) {
+        return rangePatrol(road.getModel());
+    }
+
+    /**
+     * Igual que rangePatrol(SilkRoad), sobre el modelo sin parte gráfica.
+     */
+    public int rangePatrol(SilkRoadModel road) {
+        int currentPos = getCurrentLocation();
+        int removed = 0;
+        for (Robot r : road.debtorsInRange(currentPos - patrolRange, currentPos + patrolRange)) {
+            if (r == this) continue;
+            road.removeRobotAtPosition(r.getCurrentLocation());
+            removed++;
+        }
+        robotsRemoved += removed;
+        return removed;
+    }
+
+    /**
+     * Asigna a esta unidad el tramo [start, end] del camino.
+     */
+    public void assignSegment(int start, int end) {
+        if (start < 0 || end < start) throw new IllegalArgumentException("Tramo inválido: [" + start + ", " + end + "]");
+        this.segmentStart = start;
+        this.segmentEnd = end;
+    }
+
+    public boolean hasSegment() {
+        return segmentStart >= 0;
+    }
+
+    public int getSegmentStart() {
+        return segmentStart;
+    }
+
+    public int getSegmentEnd() {
+        return segmentEnd;
+    }
+
+    /**
+     * Deudores dentro del tramo propio, en orden de posición. Solo lee el modelo,
+     * así que varias unidades pueden buscar a la vez (ver SilkRoadModel.policeSweep).
+     */
+    public List<Robot> findDebtorsInSegment(SilkRoadModel road) {
+        if (!hasSegment()) return new ArrayList<>();
+        return road.debtorsInRange(segmentStart, segmentEnd);
+    }
+
+    /** Distancia a cada lado que cubre rangePatrol. */
+    public int getPatrolRange() {
+        return patrolRange;
+    }
+
+    public void setPatrolRange(int patrolRange) {
+        if (patrolRange < 0) throw new IllegalArgumentException("El alcance no puede ser negativo: " + patrolRange);
+        this.patrolRange = patrolRange;
+    }
+
     /**
      * Incrementa manualmente el contador de eliminaciones.
      * Este método se puede usar si un robot es eliminado como consecuencia de
@@ -65,18 +137,19 @@ public class RobotPolice extends Robot {
     }
     
     /**
-     * Coloca visualmente al robot en una celda.
-     * Este método sobrescribe la versión de la clase padre (Robot) para 
-     * personalizar la apariencia del RobotPolice, cambiando el color
-     * de sus ojos a rojo para distinguirlo de los demás.
+     * Personaliza la apariencia del RobotPolice: ojos rojos para
+     * distinguirlo de los demás.
      */
     @Override
-    public void placeInCell(Cell cell) {
-        super.placeInCell(cell);
-        if (getEyeLeftShape() != null) getEyeLeftShape().changeColor("red");
-        if (getEyeRightShape() != null) getEyeRightShape().changeColor("red");
+    protected String eyeColor() {
+        return "red";
     }
     
+    @Override
+    public boolean isPolice() {
+        return true;
+    }
+
     /**
      * Retorna una descripción textual del RobotPolice,
      * incluyendo su posición actual, cantidad de tenges y robots eliminados.
@@ -37,6 +37,16 @@ public class RobotTender extends Robot {
 
         return gain;
     }
-    
-    
+
+    @Override
+    public int visitStore(Store store, int distance) {
+        return interactWithStore(store, distance);
+    }
+
+    /**
+     * No registra nada aparte: interactWithStore ya suma la ganancia al visitar una tienda.
+     */
+    @Override
+    public void recordMove(int gain, int cell, int distance) {
+    }
 }
@@ -2,6 +2,8 @@ package Simulation;
 
 import Shapes.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import javax.swing.JOptionPane;
 
 /**
@@ -17,6 +19,12 @@ public class SilkRoadContest {
     /** Instancia de SilkRoad usada únicamente para la simulación visual. */
     private SilkRoad road;
 
+    /** Motor usado por solve para calcular la ganancia máxima de cada día. */
+    private ProfitEngine engine = new FastProfitEngine();
+
+    /** Días congelados por hilo en cada lote de solveParallel. */
+    private static final int PARALLEL_BATCH_PER_THREAD = 64;
+
     /** Crea una simulación con una ruta de longitud por defecto (1000). */
     public SilkRoadContest() {
         this.road = new SilkRoad(1000);
@@ -27,138 +35,257 @@ public class SilkRoadContest {
         this.road = new SilkRoad(days);
     }
 
+    /** Crea una simulación con una ruta adaptada a una secuencia de eventos. */
+    public SilkRoadContest(EventSource events) {
+        this.road = new SilkRoad(events);
+    }
+
+    /** Cambia el motor de cálculo (por ejemplo, al de referencia para comparar). */
+    public void setEngine(ProfitEngine engine) {
+        if (engine != null) this.engine = engine;
+    }
+
+    /** Devuelve el motor de cálculo actual. */
+    public ProfitEngine getEngine() {
+        return engine;
+    }
+
     /**
      * Calcula la ganancia óptima acumulada día por día (sin usar la simulación visual).
      */
     public int[] solve(int[][] days) {
         if (days == null) return new int[0];
+        return solve(EventLog.fromDays(days));
+    }
 
-        int n = days.length;
-        int[] result = new int[n];
-        int[] robots = new int[1000];
-        int robotCount = 0;
+    /**
+     * Igual que solve(int[][]), leyendo los eventos en su lugar (registro compacto
+     * o archivo binario mapeado) sin copiarlos.
+     */
+    public int[] solve(EventSource events) {
+        return solve(events, engine);
+    }
 
-        TreeMap<Integer, Integer> stores = new TreeMap<>();
+    /**
+     * Igual que solve(EventSource), con el motor indicado. No necesita una
+     * simulación visual, así que sirve sin ventana (pruebas, servidores).
+     */
+    public static int[] solve(EventSource events, ProfitEngine engine) {
+        if (events == null) return new int[0];
+
+        int n = events.size();
+        int[] result = new int[n];
+        ContestState state = new ContestState();
+        DpWorkspace workspace = new DpWorkspace();
 
         for (int day = 0; day < n; day++) {
-            int[] event = days[day];
-            if (event == null || event.length < 2) {
+            if (!applyEvent(state, events, day)
+                    || state.getRobotCount() == 0 || state.getStoreCount() == 0) {
                 result[day] = 0;
                 continue;
             }
 
-            if (event[0] == 1) {
-                // Agregar robot
-                if (event.length >= 2 && event[1] >= 0) {
-                    robots[robotCount++] = event[1];
-                }
-            } 
-            else if (event[0] == 2 && event.length >= 3) {
-                // Agregar tienda
-                if (event[1] >= 0 && event[2] >= 0)
-                    stores.put(event[1], event[2]);
-            }
+            long[] pref = state.getPrefixSums();
+            int bestProfit = (int) engine.maxProfit(state.getRobots(), state.getRobotCount(),
+                state.getStorePositions(), pref, state.getStoreCount(), workspace);
+            result[day] = bestProfit;
+        }
 
-            if (robotCount == 0 || stores.isEmpty()) {
-                result[day] = 0;
-                continue;
-            }
+        return result;
+    }
 
-            Arrays.sort(robots, 0, robotCount);
+    /**
+     * Igual que solve, pero resuelve los días en paralelo.
+     *
+     * La respuesta de cada día depende solo de los eventos anteriores, así que se
+     * recorre la entrada una vez tomando copias inmutables del estado de cada día y
+     * esas copias se resuelven en un ForkJoinPool. Las copias se procesan por lotes
+     * para que la memoria no crezca con el número total de días.
+     *
+     * @param days        eventos de la entrada
+     * @param parallelism número de hilos del pool
+     */
+    public int[] solveParallel(int[][] days, int parallelism) {
+        if (days == null) return new int[0];
+        return solveParallel(EventLog.fromDays(days), parallelism);
+    }
 
-            int m = stores.size();
-            int[] storePos = new int[m];
-            long[] pref = new long[m + 1];
-            int idx = 0;
+    /**
+     * Igual que solveParallel(int[][], int), leyendo los eventos en su lugar.
+     */
+    public int[] solveParallel(EventSource events, int parallelism) {
+        if (events == null) return new int[0];
 
-            for (Map.Entry<Integer, Integer> entry : stores.entrySet()) {
-                storePos[idx] = entry.getKey();
-                pref[idx + 1] = pref[idx] + entry.getValue();
-                idx++;
+        int n = events.size();
+        int[] result = new int[n];
+        int threads = Math.max(1, parallelism);
+        int batchSize = threads * PARALLEL_BATCH_PER_THREAD;
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ThreadLocal<DpWorkspace> workspaces = ThreadLocal.withInitial(DpWorkspace::new);
+        try {
+            ContestState state = new ContestState();
+            List<ContestState.Snapshot> batch = new ArrayList<>(batchSize);
+
+            for (int day = 0; day < n; day++) {
+                if (!applyEvent(state, events, day)
+                        || state.getRobotCount() == 0 || state.getStoreCount() == 0) {
+                    result[day] = 0;
+                    continue;
+                }
+                batch.add(state.snapshot(day));
+                if (batch.size() == batchSize) {
+                    pool.invoke(new DayBatchTask(batch, 0, batch.size(), result, workspaces));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                pool.invoke(new DayBatchTask(batch, 0, batch.size(), result, workspaces));
             }
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
 
-            int[] usedRobots = new int[robotCount];
-            System.arraycopy(robots, 0, usedRobots, 0, robotCount);
+    /**
+     * Aplica al estado del solver el evento del día indicado.
+     * Devuelve false si el evento está incompleto (ese día vale 0).
+     */
+    private static boolean applyEvent(ContestState state, EventSource events, int day) {
+        int len = events.length(day);
+        if (len < 2) return false;
+
+        int type = events.value(day, 0);
+        if (type == 1) {
+            // Agregar robot
+            int pos = events.value(day, 1);
+            if (pos >= 0) {
+                state.addRobot(pos);
+            }
+        }
+        else if (type == 2 && len >= 3) {
+            // Agregar tienda
+            int pos = events.value(day, 1);
+            int tenges = events.value(day, 2);
+            if (pos >= 0 && tenges >= 0)
+                state.putStore(pos, tenges);
+        }
+        return true;
+    }
 
-            int bestProfit = computeMaxProfitDP(usedRobots, storePos, pref);
-            result[day] = bestProfit;
+    /**
+     * Resuelve un tramo de días congelados, dividiéndolo por la mitad hasta un día por tarea.
+     */
+    private class DayBatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<ContestState.Snapshot> snapshots;
+        private final int from;
+        private final int to;
+        private final int[] result;
+        private final ThreadLocal<DpWorkspace> workspaces;
+
+        DayBatchTask(List<ContestState.Snapshot> snapshots, int from, int to, int[] result,
+                     ThreadLocal<DpWorkspace> workspaces) {
+            this.snapshots = snapshots;
+            this.from = from;
+            this.to = to;
+            this.result = result;
+            this.workspaces = workspaces;
         }
 
-        return result;
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                ContestState.Snapshot s = snapshots.get(from);
+                result[s.day] = (int) engine.maxProfit(s.robots, s.robots.length,
+                    s.storePos, s.pref, s.storePos.length, workspaces.get());
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new DayBatchTask(snapshots, from, mid, result, workspaces),
+                      new DayBatchTask(snapshots, mid, to, result, workspaces));
+        }
     }
 
     /**
      * Simula día a día los movimientos de robots y tiendas usando SilkRoad.
-     * Solo visualiza los movimientos, no calcula resultados.
+     * Solo visualiza los movimientos, no calcula resultados. Cada día (eventos y
+     * movimientos) se pinta como un solo cuadro.
      */
     public void simulate(int[][] days, boolean slow) {
+        if (days == null) {
+            road.reboot();
+            return;
+        }
+        simulate(EventLog.fromDays(days), slow);
+    }
+
+    /**
+     * Igual que simulate(int[][], boolean), leyendo los eventos en su lugar.
+     */
+    public void simulate(EventSource events, boolean slow) {
         road.reboot();
-        if (days == null) return;
+        if (events == null) return;
+        StoreIndex storeIndex = new StoreIndex();
 
-        for (int i = 0; i < days.length; i++) {
-            int[] event = days[i];
-            if (event == null || event.length < 2) continue;
+        for (int i = 0; i < events.size(); i++) {
+            int len = events.length(i);
+            if (len < 2) continue;
 
-            // --- Procesar eventos del día ---
-            if (event[0] == 1) {
-            // Formato: [1, pos] o [1, pos, tipo]
+            Canvas.beginFrame();
             try {
-                if (event.length >= 3) {
-                    String type = decodeRobotType(event[2]);
-                    road.placeRobot(event[1], type);
-                } else {
-                    road.placeRobot(event[1], "normal");
-                }
-            } catch (SilkRoadException e) {
-                    JOptionPane.showMessageDialog(
-                        null,
-                        "No se puede colocar el robot fuera del tablero.\n" + e.getMessage(),
-                        "Error de colocación",
-                        JOptionPane.ERROR_MESSAGE
-                    );
+                // --- Procesar eventos del día ---
+                if (events.value(i, 0) == 1) {
+                // Formato: [1, pos] o [1, pos, tipo]
+                try {
+                    if (len >= 3) {
+                        String type = decodeRobotType(events.value(i, 2));
+                        road.placeRobot(events.value(i, 1), type);
+                    } else {
+                        road.placeRobot(events.value(i, 1), "normal");
+                    }
+                } catch (SilkRoadException e) {
+                        JOptionPane.showMessageDialog(
+                            null,
+                            "No se puede colocar el robot fuera del tablero.\n" + e.getMessage(),
+                            "Error de colocación",
+                            JOptionPane.ERROR_MESSAGE
+                        );
+                    }
                 }
-            }
  
-            else if (event[0] == 2) {
-                if (event.length >= 4) {
-                    String type = decodeStoreType(event[3]);
-                    road.placeStore(event[1], event[2], type);
-                } else if (event.length >= 3) {
-                    road.placeStore(event[1], event[2], "normal");
+                else if (events.value(i, 0) == 2) {
+                    if (len >= 4) {
+                        String type = decodeStoreType(events.value(i, 3));
+                        road.placeStore(events.value(i, 1), events.value(i, 2), type);
+                    } else if (len >= 3) {
+                        road.placeStore(events.value(i, 1), events.value(i, 2), "normal");
+                    }
                 }
-            }
-
-            // --- Movimiento automático de robots ---
-            List<int[]> moves = new ArrayList<>();
-            int[][] robotsSnapshot = road.robots();
-            int[][] storesSnapshot = road.stores();
-
-            for (int[] r : robotsSnapshot) {
-                int rpos = r[0];
-                int bestStore = -1;
-                int bestGain = Integer.MIN_VALUE;
-
-                for (int[] s : storesSnapshot) {
-                    int spos = s[0];
-                    int stenges = s[1];
-                    if (stenges <= 0) continue;
-
-                    int dist = Math.abs(spos - rpos);
-                    int gain = stenges - dist;
 
-                    if (gain > bestGain && gain > 0) {
-                        bestGain = gain;
-                        bestStore = spos;
+                // --- Movimiento automático de robots ---
+                // Cada robot elige la tienda de mayor ganancia positiva según el estado
+                // al inicio del día; el índice responde cada robot en O(log S).
+                SilkRoadModel model = road.getModel();
+                storeIndex.build(model.getStoresByPosition());
+                SortedIntMap<Robot> robots = model.getRobotsByPosition();
+                List<int[]> moves = new ArrayList<>();
+
+                for (int r = 0; r < robots.size(); r++) {
+                    int rpos = robots.keyAt(r);
+                    int bestStore = storeIndex.bestStore(rpos);
+                    if (bestStore != -1) {
+                        moves.add(new int[]{rpos, bestStore - rpos});
                     }
                 }
 
-                if (bestStore != -1) {
-                    moves.add(new int[]{rpos, bestStore - rpos});
-                }
+                road.moveRobots(moves);
+            } finally {
+                Canvas.endFrame();
             }
 
-            road.moveRobots(moves);
-
             // Espera opcional para visualización
             if (slow) {
                 try {
@@ -188,41 +315,4 @@ public class SilkRoadContest {
             default -> "normal";
         };
     }
-
-    /** Cálculo interno del máximo beneficio con DP. */
-    private int computeMaxProfitDP(int[] robots, int[] storePos, long[] pref) {
-        final long NEG = Long.MIN_VALUE / 4;
-        int R = robots.length;
-        int M = storePos.length;
-
-        long[][] dp = new long[R + 1][M + 1];
-        for (int i = 0; i <= R; i++) Arrays.fill(dp[i], NEG);
-        dp[0][0] = 0;
-
-        for (int r = 1; r <= R; r++) {
-            int robotPos = robots[r - 1];
-            for (int i = 0; i <= M; i++) {
-                long best = dp[r - 1][i];
-                for (int j = 0; j < i; j++) {
-                    if (dp[r - 1][j] == NEG) continue;
-
-                    long sum = pref[i] - pref[j];
-                    int L = storePos[j];
-                    int Rpos = storePos[i - 1];
-                    long span = Rpos - L;
-                    long dist = Math.min(Math.abs(robotPos - L), Math.abs(robotPos - Rpos));
-                    long gain = sum - (span + dist);
-
-                    if (gain > 0 && dp[r - 1][j] + gain > best) {
-                        best = dp[r - 1][j] + gain;
-                    }
-                }
-                dp[r][i] = best;
-            }
-        }
-
-        long ans = 0;
-        for (int i = 0; i <= M; i++) ans = Math.max(ans, dp[R][i]);
-        return (int) ans;
-    }
 }
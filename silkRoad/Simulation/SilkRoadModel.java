@@ -0,0 +1,635 @@
+package Simulation;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Modelo de la Ruta de la Seda sin parte gráfica.
+ *
+ * Guarda las tiendas, los robots y la ganancia del día, y aplica las mismas reglas
+ * de colocación, movimiento y ganancia que la SilkRoad visual, pero sin crear celdas,
+ * figuras ni ventanas. Sirve para simular en lote (pruebas, servidores) y es la base
+ * de SilkRoad, que se registra como observador para pintar cada cambio.
+ */
+public class SilkRoadModel {
+
+    private final int length;
+    // ordenadas por posición: las consultas las recorren en orden sin ordenar
+    private final SortedIntMap<Store> stores = new SortedIntMap<>();
+
+    // índice de ocupación: posición actual → robot. Es lo único que tocan colocar,
+    // quitar y mover robots, así que un movimiento es O(1) con cualquier cantidad de robots
+    private final PositionIndex<Robot> occupancy = new PositionIndex<>();
+    // occupancy ordenado por posición; se rearma al consultarlo si robotsDirty (ver sortedRobots)
+    private final SortedIntMap<Robot> robots = new SortedIntMap<>();
+    private boolean robotsDirty = false;
+    // robots (sin policías) por ganancia; Robot.addProfit lo mantiene al día
+    private final ProfitLeaderboard leaderboard = new ProfitLeaderboard();
+    // suma de los tenges actuales de las tiendas; cada tienda la mantiene al día
+    private final StoreTotals storeTotals = new StoreTotals();
+    // robots con tenges negativos por posición; Robot.addTenges lo mantiene al día
+    private final DebtorIndex debtors = new DebtorIndex();
+
+    // snapshots inmutables para reboot
+    private final SortedIntMap<Integer> initialStoreTenges = new SortedIntMap<>();
+    private final SortedIntMap<String> initialStoreColors = new SortedIntMap<>();
+    private final SortedIntMap<String> initialRobotColors = new SortedIntMap<>();
+
+    private final List<SilkRoadObserver> observers = new ArrayList<>();
+    private final ColorManager storeColors = new ColorManager();
+    private final Random random = new Random();
+
+    private boolean lastOk = true;
+    private long profitToday = 0;
+    private int arrivalCounter = 0;
+
+    private RobotPolice police;  // Robot policía único
+    // unidades de policía con tramo propio, en orden de tramo (activatePolice(int))
+    private final List<RobotPolice> policeUnits = new ArrayList<>();
+
+    /**
+     * Crea un modelo vacío con posiciones de 0 a length - 1.
+     */
+    public SilkRoadModel(int length) {
+        if (length <= 0) throw new IllegalArgumentException("La longitud debe ser positiva: " + length);
+        this.length = length;
+    }
+
+    /** Registra un observador de los cambios del modelo. */
+    public void addObserver(SilkRoadObserver observer) {
+        if (observer != null) observers.add(observer);
+    }
+
+    /** Quita un observador registrado. */
+    public void removeObserver(SilkRoadObserver observer) {
+        observers.remove(observer);
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Coloca una tienda en la posición indicada.
+     * Si el tipo es "autonomous", la posición se elige aleatoriamente.
+     *
+     * @return la tienda colocada, o null si la posición está fuera del camino
+     */
+    public Store placeStore(int position, int tenges, String type) {
+        if (position < 0 || position >= length) return null;
+
+        if (type.equalsIgnoreCase("autonomous")) {
+            position = random.nextInt(length);
+        }
+
+        Store store;
+        switch (type.toLowerCase()) {
+            case "fighter":
+                store = new StoreFighter(position, tenges, "red");
+                break;
+
+            case "autonomous":
+                store = new StoreAutonomous(position, tenges, "yellow");
+                break;
+
+            default:
+                store = new Store(position, tenges, "magenta");
+                break;
+        }
+
+        Store replaced = stores.put(position, store);
+        if (replaced != null) storeTotals.detach(replaced);
+        storeTotals.attach(store);
+        for (SilkRoadObserver o : observers) o.storePlaced(store, position);
+        actualizarMaxProfit();
+        return store;
+    }
+
+    /**
+     * Coloca un robot en la posición indicada.
+     * Soporta distintos tipos de robots, incluyendo el RobotPolice.
+     *
+     * @return el robot colocado
+     */
+    public Robot placeRobot(int position, String type) throws SilkRoadException {
+        if (position < 0 || position >= length) {
+            throw new SilkRoadException(
+                "Intento de colocar un robot fuera del camino (posición " + position + ").");
+        }
+
+        Robot robot;
+        switch (type.toLowerCase()) {
+            case "neverback":
+                robot = new RobotNeverBack(position, "orange");
+                break;
+
+            case "tender":
+                robot = new RobotTender(position, "green");
+                break;
+
+            case "police":
+                robot = new RobotPolice(position, "cyan");
+                // registrar la referencia al policía para usarla sin instanceof
+                police = (RobotPolice) robot;
+                break;
+
+            default:
+                robot = new Robot(position, "blue");
+                break;
+        }
+
+        Robot previous = occupy(position, robot);
+        if (previous != null) forgetRobot(previous, position);
+        for (SilkRoadObserver o : observers) o.robotPlaced(robot, position);
+        return robot;
+    }
+
+    /**
+     * Elimina la tienda de una posición y actualiza la ganancia máxima.
+     */
+    public void removeStore(int location) {
+        Store s = stores.remove(location);
+        if (s != null) {
+            storeTotals.detach(s);
+            for (SilkRoadObserver o : observers) o.storeRemoved(s, location);
+        }
+        actualizarMaxProfit();
+    }
+
+    /**
+     * Elimina el robot registrado en una posición. Si es el policía, se desactiva.
+     */
+    public void removeRobot(int location) {
+        Robot r = vacate(location);
+        if (r != null) forgetRobot(r, location);
+    }
+
+    /**
+     * Elimina el robot que se encuentra actualmente en la posición indicada.
+     */
+    public void removeRobotAtPosition(int position) {
+        if (position < 0 || position >= length) return;
+
+        Robot r = vacate(position);
+        if (r != null) {
+            for (SilkRoadObserver o : observers) o.robotRemoved(r, position);
+        }
+    }
+
+    /** Registra al robot en la posición y devuelve el que la ocupaba. */
+    private Robot occupy(int position, Robot robot) {
+        robotsDirty = true;
+        Robot previous = occupancy.put(position, robot);
+        if (previous != null && previous != robot) {
+            leaderboard.remove(previous);
+            debtors.untrack(previous, position);
+        }
+        leaderboard.add(robot);
+        debtors.track(robot, position);
+        return previous;
+    }
+
+    /** Libera la posición y devuelve el robot que la ocupaba. */
+    private Robot vacate(int position) {
+        Robot r = occupancy.remove(position);
+        if (r != null) {
+            robotsDirty = true;
+            leaderboard.remove(r);
+            debtors.untrack(r, position);
+        }
+        return r;
+    }
+
+    /** Deja de seguir a todos los robots (tabla de ganancias y deudores) antes de vaciar los mapas. */
+    private void untrackRobots() {
+        for (int pos : occupancy.keys()) debtors.untrack(occupancy.get(pos), pos);
+        leaderboard.clear();
+    }
+
+    /**
+     * Robots ordenados por posición. Si hubo cambios desde la última consulta se
+     * rearma desde occupancy en O(R log R); si no, no cuesta nada.
+     */
+    private SortedIntMap<Robot> sortedRobots() {
+        if (robotsDirty) {
+            int[] positions = occupancy.keys();
+            Arrays.sort(positions);
+            robots.clear();
+            for (int pos : positions) robots.put(pos, occupancy.get(pos));  // en orden: agrega al final
+            robotsDirty = false;
+        }
+        return robots;
+    }
+
+    /** Avisa la salida de un robot ya quitado del índice; si es el policía, se desactiva. */
+    private void forgetRobot(Robot r, int position) {
+        if (r == police) police = null;
+        for (SilkRoadObserver o : observers) o.robotRemoved(r, position);
+    }
+
+    /**
+     * Rellena nuevamente todas las tiendas. O(1): las tiendas vuelven a sus tenges
+     * iniciales recién cuando se leen (ver StoreTotals).
+     */
+    public void resupplyStores() {
+        List<Store> emptied = storeTotals.resupplyAll();
+        for (SilkRoadObserver o : observers) o.storesResupplied(emptied);
+        actualizarMaxProfit();
+    }
+
+    /**
+     * Devuelve todos los robots a sus posiciones originales.
+     * Como en un movimiento, si dos robots vuelven a la misma posición queda el último.
+     */
+    public void returnRobots() {
+        SortedIntMap<Robot> sorted = sortedRobots();
+        List<Robot> all = new ArrayList<>(sorted.size());
+        sorted.forEachValue(all::add);
+        untrackRobots();
+        robots.clear();
+        occupancy.clear();
+        for (Robot r : all) {
+            int from = r.getCurrentLocation();
+            r.resetPosition();
+            int to = r.getCurrentLocation();
+            Robot displaced = occupy(to, r);
+            if (displaced != null) forgetRobot(displaced, to);
+            if (from != to) {
+                for (SilkRoadObserver o : observers) o.robotMoved(r, from, to);
+            }
+        }
+    }
+
+    /**
+     * Reinicia el modelo a su estado inicial, restaurando tiendas y robots.
+     */
+    public void reboot() {
+        detachStores();
+        untrackRobots();
+        robots.clear();
+        occupancy.clear();
+        profitToday = 0;
+        for (SilkRoadObserver o : observers) {
+            o.cleared();
+            o.profitChanged(0);
+        }
+
+        for (int i = 0; i < initialStoreTenges.size(); i++) {
+            int loc = initialStoreTenges.keyAt(i);
+            String color = initialStoreColors.get(loc);
+            if (color == null) color = storeColors.nextColor();
+            Store s = new Store(loc, initialStoreTenges.valueAt(i), color);
+            stores.put(loc, s);
+            storeTotals.attach(s);
+            for (SilkRoadObserver o : observers) o.storePlaced(s, loc);
+        }
+
+        police = null;
+        policeUnits.clear();
+        for (int i = 0; i < initialRobotColors.size(); i++) {
+            int loc = initialRobotColors.keyAt(i);
+            Robot r = new Robot(loc, initialRobotColors.valueAt(i));
+            occupy(loc, r);
+            for (SilkRoadObserver o : observers) o.robotPlaced(r, loc);
+        }
+
+        arrivalCounter = 0;
+        actualizarMaxProfit();
+    }
+
+    /**
+     * Quita todos los robots y tiendas y deja la ganancia del día en cero.
+     */
+    public void clear() {
+        untrackRobots();
+        robots.clear();
+        occupancy.clear();
+        detachStores();
+        profitToday = 0;
+        for (SilkRoadObserver o : observers) {
+            o.cleared();
+            o.profitChanged(0);
+        }
+    }
+
+    /** Quita todas las tiendas y las saca de la suma de tenges. */
+    private void detachStores() {
+        stores.forEachValue(storeTotals::detach);
+        stores.clear();
+    }
+
+    /**
+     * Mueve un robot una cantidad específica de metros en la ruta.
+     * También calcula las ganancias o pérdidas resultantes.
+     * Si el robot es el policía, elimina cualquier robot con tenges negativos
+     * en su destino antes de moverse.
+     */
+    public void moveRobot(int location, int meters) {
+        Robot robot = occupancy.get(location);
+        if (robot == null) return;
+
+        // Cada tipo decide si acepta el movimiento (RobotNeverBack no retrocede)
+        if (!robot.canMove(meters)) return;
+
+        int oldPos = robot.getCurrentLocation();
+        int newPos = oldPos + meters;
+        if (newPos < 0 || newPos >= length) return;
+
+        // Si quien se mueve es el policía, verificar eliminación en destino antes de mover
+        if (robot == police) {
+            Robot target = debtors.at(newPos);
+            if (target != null) {
+                removeRobotAtPosition(newPos);
+                if (police != null) police.addElimination();
+            }
+        }
+
+        // Si en destino hay aún un robot (no eliminado), eliminarlo antes de colocar al que se mueve.
+        // Va antes de cambiar la posición: la tabla de ganancias desempata por posición y
+        // quitar al desplazado la reordena con la posición vieja del que se mueve.
+        if (newPos != oldPos && occupancy.get(newPos) != null) {
+            removeRobotAtPosition(newPos);
+        }
+
+        // Actualizar ubicación interna
+        robot.move(meters);
+        robot.setCurrentLocation(newPos);
+
+        // Reubicar en el índice (clave = posición actual)
+        if (newPos != oldPos) {
+            occupancy.remove(oldPos);
+            occupancy.put(newPos, robot);
+            robotsDirty = true;
+            leaderboard.update(robot);  // la posición desempata
+            debtors.moved(robot, oldPos, newPos);
+        }
+        for (SilkRoadObserver o : observers) o.robotMoved(robot, oldPos, newPos);
+
+        // Interacción con tienda y ganancia (cada tipo de robot define la suya)
+        int distancia = Math.abs(newPos - oldPos);
+        int ganancia;
+        Store store = stores.get(newPos);
+        if (store != null && !store.isEmptiedToday()) {
+            ganancia = robot.visitStore(store, distancia);
+        } else {
+            ganancia = -distancia;
+        }
+
+        profitToday += ganancia;
+        for (SilkRoadObserver o : observers) o.profitChanged(profitToday);
+
+        robot.recordMove(ganancia, newPos, distancia);
+    }
+
+    /**
+     * Aplica una lista de movimientos {posición, metros} en orden.
+     */
+    public void moveRobots(List<int[]> movimientos) {
+        if (movimientos == null) return;
+        for (int[] mov : movimientos) {
+            if (mov == null || mov.length < 2) continue;
+            moveRobot(mov[0], mov[1]);
+        }
+    }
+
+    public long profit() {
+        return profitToday;
+    }
+
+    /**
+     * Devuelve la ganancia máxima posible: la suma de los tenges actuales de las tiendas.
+     * Se mantiene al día con cada cambio de las tiendas, así que es O(1).
+     */
+    public int maxProfit() {
+        return (int) storeTotals.tenges();
+    }
+
+    private void actualizarMaxProfit() {
+        int max = maxProfit();
+        for (SilkRoadObserver o : observers) o.maxProfitChanged(max);
+    }
+
+    /**
+     * Veces que se vació cada tienda inicial, en orden de posición.
+     * Ambas colecciones están ordenadas, así que se cruzan en un solo recorrido.
+     */
+    public int[][] emptiedStores() {
+        int[][] result = new int[initialStoreTenges.size()][2];
+        int j = 0;
+        for (int i = 0; i < result.length; i++) {
+            int loc = initialStoreTenges.keyAt(i);
+            while (j < stores.size() && stores.keyAt(j) < loc) j++;
+            Store s = (j < stores.size() && stores.keyAt(j) == loc) ? stores.valueAt(j) : null;
+            result[i][0] = loc;
+            result[i][1] = (s != null) ? s.getTimesEmptied() : 0;
+        }
+        return result;
+    }
+
+    public int[][] profitPerMove() {
+        SortedIntMap<Robot> robots = sortedRobots();
+        int[][] result = new int[robots.size()][];
+        for (int i = 0; i < result.length; i++) {
+            Robot r = robots.valueAt(i);
+            result[i] = new int[]{r.getCurrentLocation(), r.getProfit()};
+        }
+        return result;
+    }
+
+    public int[][] stores() {
+        int[][] result = new int[stores.size()][2];
+        for (int i = 0; i < result.length; i++) {
+            result[i][0] = stores.keyAt(i);
+            result[i][1] = stores.valueAt(i).getCurrentTenges();
+        }
+        return result;
+    }
+
+    public int[][] robots() {
+        SortedIntMap<Robot> robots = sortedRobots();
+        int[][] result = new int[robots.size()][2];
+        for (int i = 0; i < result.length; i++) {
+            result[i][0] = robots.keyAt(i);
+            result[i][1] = robots.valueAt(i).getTenges();
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve el robot con mayor ganancia, ignorando al policía,
+     * o null si no hay robots. Entre empates, el de menor posición. O(1).
+     */
+    public Robot bestRobot() {
+        return leaderboard.best();
+    }
+
+    /**
+     * Los k robots con mayor ganancia (sin policías), de mayor a menor. O(k log k).
+     */
+    public List<Robot> topRobots(int k) {
+        return leaderboard.top(k);
+    }
+
+    public boolean ok() {
+        return lastOk;
+    }
+
+    /**
+     * Activa un robot policía en la posición inicial.
+     * Solo puede haber un policía activo a la vez.
+     *
+     * @return el policía activado, o null si ya había uno
+     */
+    public RobotPolice activatePolice() {
+        if (isPoliceActive()) return null;
+        police = new RobotPolice(0, "cyan");
+        for (SilkRoadObserver o : observers) o.robotPlaced(police, 0);
+        return police;
+    }
+
+    /** Hay policía si queda el policía único o alguna unidad con tramo. */
+    private boolean isPoliceActive() {
+        return police != null || !policeUnits.isEmpty();
+    }
+
+    /**
+     * Activa units policías, cada uno dueño de un tramo contiguo del camino
+     * (los tramos se reparten en partes casi iguales) y ubicado al inicio de su tramo.
+     * Como activatePolice(), no se activan si ya hay policía.
+     *
+     * @return las unidades activadas en orden de tramo, o una lista vacía si ya había policía
+     */
+    public List<RobotPolice> activatePolice(int units) {
+        if (units <= 0 || units > length) {
+            throw new IllegalArgumentException("Cantidad de unidades inválida: " + units);
+        }
+        if (isPoliceActive()) return new ArrayList<>();
+        for (int i = 0; i < units; i++) {
+            int start = (int) ((long) i * length / units);
+            int end = (int) ((long) (i + 1) * length / units) - 1;
+            RobotPolice unit = new RobotPolice(start, "cyan");
+            unit.assignSegment(start, end);
+            policeUnits.add(unit);
+            for (SilkRoadObserver o : observers) o.robotPlaced(unit, start);
+        }
+        return new ArrayList<>(policeUnits);
+    }
+
+    /**
+     * Cada unidad de policía busca los deudores de su tramo y luego se eliminan todos.
+     *
+     * Las búsquedas corren en paralelo en el pool común: solo leen el índice de deudores,
+     * que nadie modifica mientras tanto (este hilo espera a que terminen todas). Después
+     * las eliminaciones se aplican en este hilo, por tramo y dentro de cada tramo por
+     * posición, así que el resultado no depende del orden en que terminen las búsquedas.
+     *
+     * @return cantidad de robots eliminados
+     */
+    public int policeSweep() {
+        if (policeUnits.isEmpty()) return 0;
+
+        List<List<Robot>> found = new ArrayList<>(policeUnits.size());
+        if (policeUnits.size() == 1) {
+            found.add(policeUnits.get(0).findDebtorsInSegment(this));
+        } else {
+            List<Callable<List<Robot>>> searches = new ArrayList<>(policeUnits.size());
+            for (RobotPolice unit : policeUnits) searches.add(() -> unit.findDebtorsInSegment(this));
+            try {
+                for (Future<List<Robot>> f : ForkJoinPool.commonPool().invokeAll(searches)) found.add(f.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Patrulla interrumpida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló la patrulla de una unidad", e.getCause());
+            }
+        }
+
+        int removed = 0;
+        for (int u = 0; u < policeUnits.size(); u++) {
+            RobotPolice unit = policeUnits.get(u);
+            for (Robot r : found.get(u)) {
+                int pos = r.getCurrentLocation();
+                if (occupancy.get(pos) != r) continue;
+                removeRobotAtPosition(pos);
+                unit.addElimination();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Unidades de policía con tramo, en orden de tramo (vista de solo lectura).
+     */
+    public List<RobotPolice> getPoliceUnits() {
+        return Collections.unmodifiableList(policeUnits);
+    }
+
+    /**
+     * Devuelve cuántos robots ha eliminado la policía: el policía único más todas las unidades.
+     */
+    public int getRobotsRemovedByPolice() {
+        int total = police != null ? police.getRobotsRemoved() : 0;
+        for (RobotPolice unit : policeUnits) total += unit.getRobotsRemoved();
+        return total;
+    }
+
+    /**
+     * Robots eliminados por cada unidad de policía, en orden de tramo.
+     */
+    public int[] getRobotsRemovedByPoliceUnit() {
+        int[] result = new int[policeUnits.size()];
+        for (int i = 0; i < result.length; i++) result[i] = policeUnits.get(i).getRobotsRemoved();
+        return result;
+    }
+
+    /**
+     * Robots con tenges negativos en las posiciones [from, to], en orden. O(log R + k).
+     */
+    public List<Robot> debtorsInRange(int from, int to) {
+        return debtors.inRange(from, to);
+    }
+
+    /**
+     * Robot con tenges negativos en la posición, o null.
+     */
+    public Robot debtorAt(int position) {
+        return debtors.at(position);
+    }
+
+    /**
+     * Devuelve el robot que está en la posición indicada, o null. O(1).
+     */
+    public Robot robotAt(int position) {
+        return occupancy.get(position);
+    }
+
+    /**
+     * Devuelve una copia de los robots activos por posición actual
+     * (compatibilidad; para recorrer sin copiar usar getRobotsByPosition).
+     */
+    public Map<Integer, Robot> getRobotsMap() {
+        SortedIntMap<Robot> robots = sortedRobots();
+        Map<Integer, Robot> copy = new TreeMap<>();
+        for (int i = 0; i < robots.size(); i++) copy.put(robots.keyAt(i), robots.valueAt(i));
+        return copy;
+    }
+
+    /**
+     * Robots activos ordenados por posición actual (sin copiar; no modificar).
+     * Vale hasta el siguiente cambio de robots.
+     */
+    public SortedIntMap<Robot> getRobotsByPosition() {
+        return sortedRobots();
+    }
+
+    /**
+     * Tiendas activas ordenadas por posición (sin copiar; no modificar).
+     */
+    public SortedIntMap<Store> getStoresByPosition() {
+        return stores;
+    }
+}
@@ -0,0 +1,41 @@
+package Simulation;
+
+/**
+ * Observador de los cambios de un SilkRoadModel.
+ *
+ * El modelo no conoce la parte gráfica: avisa por aquí cada colocación, movimiento
+ * o eliminación, y quien observa (por ejemplo, la SilkRoad visual) decide cómo pintarlo.
+ * Todos los métodos tienen implementación vacía para sobrescribir solo los necesarios.
+ */
+public interface SilkRoadObserver {
+
+    /** Se colocó una tienda en la posición indicada. */
+    default void storePlaced(Store store, int position) { }
+
+    /** Se quitó la tienda de la posición indicada. */
+    default void storeRemoved(Store store, int position) { }
+
+    /** Se colocó un robot en la posición indicada. */
+    default void robotPlaced(Robot robot, int position) { }
+
+    /** Se quitó el robot de la posición indicada. */
+    default void robotRemoved(Robot robot, int position) { }
+
+    /** Un robot se movió de una posición a otra. */
+    default void robotMoved(Robot robot, int from, int to) { }
+
+    /**
+     * Se reabastecieron todas las tiendas. emptied son las tiendas dibujadas que se
+     * vaciaron desde el reabastecimiento anterior (las únicas que cambian de color).
+     */
+    default void storesResupplied(java.util.List<Store> emptied) { }
+
+    /** Cambió la ganancia acumulada del día. */
+    default void profitChanged(long profit) { }
+
+    /** Cambió la ganancia máxima posible (suma de las tiendas). */
+    default void maxProfitChanged(int maxProfit) { }
+
+    /** El modelo se vació (reboot o finish) antes de restaurar su contenido. */
+    default void cleared() { }
+}
@@ -0,0 +1,167 @@
+package Simulation;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa ordenado de claves int (sin cajas Integer) a objetos.
+ *
+ * Guarda las claves en un int[] ordenado y los valores en un arreglo paralelo,
+ * igual que ContestState con las tiendas: búsqueda binaria en O(log n), inserción
+ * y borrado con un corrimiento (System.arraycopy) y recorrido en orden por índice
+ * en O(n), sin copiar ni ordenar.
+ *
+ * Costo: put y remove corren las entradas posteriores, O(n) en el peor caso, así
+ * que construir el mapa en orden aleatorio cuesta O(n²) (en orden creciente solo
+ * agrega al final). Se acepta porque los mapas de la simulación tienen a lo sumo
+ * una entrada por celda de la ruta, el corrimiento es un arraycopy contiguo y
+ * lo que domina es la consulta y el recorrido en orden. Los robots, que se mueven
+ * todo el tiempo, no pasan por aquí al moverse: SilkRoadModel los guarda en un
+ * PositionIndex y rearma su vista ordenada en orden creciente al consultarla.
+ *
+ * Recorrido típico:
+ *   for (int i = 0; i < map.size(); i++) usar(map.keyAt(i), map.valueAt(i));
+ */
+public class SortedIntMap<V> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    /** Crea un mapa vacío. */
+    public SortedIntMap() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Índice de la clave, o (-(punto de inserción) - 1) si no está. */
+    public int indexOf(int key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /** Devuelve el valor de la clave, o null si no está. */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    /** k-ésima clave en orden ascendente. */
+    public int keyAt(int index) {
+        checkIndex(index);
+        return keys[index];
+    }
+
+    /** Valor de la k-ésima clave en orden ascendente. */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        checkIndex(index);
+        return (V) values[index];
+    }
+
+    /**
+     * Asocia value a key. Una clave nueva corre las entradas mayores: O(n).
+     *
+     * @return el valor anterior de la clave, o null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            V old = (V) values[i];
+            values[i] = value;
+            return old;
+        }
+        i = -i - 1;
+        if (size == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(values, i, values, i + 1, size - i);
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Quita la clave, corriendo las entradas mayores: O(n).
+     *
+     * @return el valor que tenía, o null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = indexOf(key);
+        if (i < 0) return null;
+        V old = (V) values[i];
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        values[--size] = null;
+        return old;
+    }
+
+    /**
+     * Cambia la clave de un valor de from a to (to no debe estar ocupada).
+     * Solo corre las entradas que quedan entre ambas claves: O(log n + k), con k
+     * las claves adelantadas, y O(log n) si no adelanta a ninguna.
+     *
+     * @return false si from no estaba en el mapa
+     */
+    public boolean move(int from, int to) {
+        int i = indexOf(from);
+        if (i < 0) return false;
+        if (from == to) return true;
+        int p = indexOf(to);
+        if (p >= 0) throw new IllegalStateException("La clave " + to + " ya está ocupada");
+        p = -p - 1;
+
+        Object value = values[i];
+        if (p > i) {
+            // Avanza: las claves entre i+1 y p-1 se corren a la izquierda
+            p--;
+            System.arraycopy(keys, i + 1, keys, i, p - i);
+            System.arraycopy(values, i + 1, values, i, p - i);
+        } else {
+            // Retrocede: las claves entre p e i-1 se corren a la derecha
+            System.arraycopy(keys, p, keys, p + 1, i - p);
+            System.arraycopy(values, p, values, p + 1, i - p);
+        }
+        keys[p] = to;
+        values[p] = value;
+        return true;
+    }
+
+    /** Aplica action a cada valor en orden de clave. */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (int i = 0; i < size; i++) action.accept((V) values[i]);
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera de [0, " + size + ")");
+        }
+    }
+}
@@ -7,86 +7,75 @@ import Shapes.*;
  * Cada tienda tiene una posicion fija, puede reabastecerse, vaciarse y ser mostrada graficamente.
  *
  * Conserva la API original; añade placeInCell(Cell) para pintar centrada en una celda.
+ * El dibujo (base, techo y puerta en un CompositeShape) se arma recién en placeInCell,
+ * así una tienda sin dibujar no toca el Canvas; volver a ubicarla solo lo desplaza.
+ *
+ * Dentro de un modelo, el reabastecimiento es perezoso: el modelo solo avanza su
+ * época (StoreTotals) y cada tienda, al leerse, si quedó de una época anterior vuelve
+ * a sus tenges iniciales.
  */
 public class Store {
     private int location;
     private final int initialTenges;
-    private int currentTenges;
-    private Rectangle base;
-    private Triangle roof;
-    private Rectangle door;
+    private int currentTenges;   // vale si epoch es la época actual de totals
+    /** Índices de las partes del dibujo. */
+    public static final int BASE = 0, ROOF = 1, DOOR = 2;
+
+    private CompositeShape sprite;
+    private int spriteCellSize;
     private final String color;
     private boolean isVisible;
-    private static final int SCALE = 10;
     private int timesEmptied;
 
+    // suma del modelo al que pertenece (StoreTotals), o null, y época de currentTenges
+    StoreTotals totals;
+    int epoch;
+    // anotada en totals para recuperar el color al reabastecer (ver StoreTotals)
+    boolean pendingRecolor;
+
     public Store(int location, int tenges, String color) {
         this.location = location;
         this.initialTenges = tenges;
         this.currentTenges = tenges;
         this.color = color;
-        this.base = new Rectangle();
-        this.roof = new Triangle();
-        this.door = new Rectangle();
+        this.sprite = null;
+        this.spriteCellSize = -1;
         this.isVisible = false;
         this.timesEmptied = 0;
-        updatePosition();
-    }
-
-    private void updatePosition() {
-        if (base != null) {
-            base.moveHorizontal(location * SCALE);
-            base.moveVertical(100);
-        }
     }
 
     /**
      * Coloca/centra la tienda dentro de la celda recibida.
      */
     public void placeInCell(Cell cell) {
-        int cx = cell.getX();
-        int cy = cell.getY();
         int cellSize = cell.getSize();
+        if (sprite == null) sprite = new CompositeShape();
+        if (spriteCellSize != cellSize) {
+            buildSprite(cellSize);
+            spriteCellSize = cellSize;
+        }
+        sprite.setAbsolutePosition(cell.getX(), cell.getY());
+        if (isVisible) sprite.makeVisible();
+    }
 
+    /**
+     * Arma base, techo y puerta relativos a la esquina de una celda de cellSize.
+     */
+    private void buildSprite(int cellSize) {
         int baseSize = (int)(cellSize * 0.6);
-        int centerX = cx + cellSize / 2;
-        int centerY = cy + cellSize / 2;
-
-        base = new Rectangle();
-        base.changeSize(baseSize, baseSize);
-        base.changeColor(color);
-
-        int baseX = centerX - baseSize / 2;
-        int baseY = centerY - baseSize / 2;
-        base.setAbsolutePosition(baseX, baseY);
-
+        int baseX = cellSize / 2 - baseSize / 2;
+        int baseY = cellSize / 2 - baseSize / 2;
         int roofWidth = baseSize + 4;
         int roofHeight = Math.max(6, baseSize / 2);
-
-        roof = new Triangle();
-        roof.changeSize(roofHeight, roofWidth);
-        roof.changeColor("red");
-
-        int roofX = baseX + baseSize / 2;
-        int roofY = baseY - roofHeight;
-        roof.setAbsolutePosition(roofX, roofY);
-
         int doorWidth = baseSize / 3;
         int doorHeight = baseSize / 2;
 
-        door = new Rectangle();
-        door.changeSize(doorHeight, doorWidth);
-        door.changeColor("black");
-
-        int doorX = baseX + (baseSize - doorWidth) / 2;
-        int doorY = baseY + baseSize - doorHeight;
-        door.setAbsolutePosition(doorX, doorY);
-
-        if (isVisible) {
-            if (base != null) base.makeVisible();
-            if (roof != null) roof.makeVisible();
-            if (door != null) door.makeVisible();
-        }
+        sprite.clearParts();
+        sprite.addRectangle(baseX, baseY, baseSize, baseSize, color);
+        sprite.addTriangle(baseX + baseSize / 2, baseY - roofHeight, roofHeight, roofWidth, "red");
+        sprite.addRectangle(baseX + (baseSize - doorWidth) / 2, baseY + baseSize - doorHeight,
+            doorWidth, doorHeight, "black");
+        sprite.setSpriteKind("store", cellSize);
     }
 
     public int getLocation() {
@@ -94,16 +83,33 @@ public class Store {
     }
 
     public int getCurrentTenges() {
+        sync();
         return currentTenges;
     }
 
+    /** Si el modelo reabasteció después del último cambio, vuelve a los tenges iniciales. */
+    private void sync() {
+        if (totals != null && epoch != totals.epoch()) {
+            epoch = totals.epoch();
+            currentTenges = initialTenges;
+        }
+    }
+
+    /**
+     * Devuelve el color de la base si la tienda se reabasteció desde que se vio vacía
+     * (el modelo lo pide solo para las tiendas que se vaciaron con dibujo).
+     */
+    public void refreshColor() {
+        if (isVisible && sprite != null && getCurrentTenges() > 0) sprite.changePartColor(BASE, color);
+    }
+
     public int getInitialTenges() {
         return initialTenges;
     }
 
     public void resupply() {
-        currentTenges = initialTenges;
-        if (isVisible && base != null) base.changeColor(color);
+        setCurrentTenges(initialTenges);
+        if (isVisible && sprite != null) sprite.changePartColor(BASE, color);
     }
 
     /**
@@ -114,37 +120,46 @@ public class Store {
      */
     public void empty() {
         // Solo se vacía si aún tiene tenges
-        if (currentTenges > 0) {
-            currentTenges = 0;
+        if (getCurrentTenges() > 0) {
+            setCurrentTenges(0);
             timesEmptied++;
     
             // Cambio visual de color: tienda vacía = gris
-            if (base != null) base.changeColor("gray");
-            if (roof != null) roof.changeColor("lightGray");
-            if (door != null) door.changeColor("darkGray");
+            if (sprite != null) {
+                sprite.changePartColors("gray", "lightGray", "darkGray");
+                if (totals != null) totals.emptiedWithSprite(this);
+            }
         }
     }
 
 
+    /**
+     * Atiende a un robot que llegó recorriendo distance: le entrega todos los tenges
+     * y queda vacía. Devuelve la ganancia del robot.
+     */
+    public int serve(Robot robot, int distance) {
+        int gain = getCurrentTenges() - distance;
+        empty();
+        return gain;
+    }
+
     public boolean isEmptiedToday() {
-        return currentTenges == 0;
+        return getCurrentTenges() == 0;
     }
 
     public void makeVisible() {
         if (!isVisible) {
-            if (base != null) base.changeColor(color);
-            if (base != null) base.makeVisible();
-            if (roof != null) roof.makeVisible();
-            if (door != null) door.makeVisible();
+            if (sprite != null) {
+                sprite.changePartColor(BASE, color);
+                sprite.makeVisible();
+            }
             isVisible = true;
         }
     }
 
     public void makeInvisible() {
         if (isVisible) {
-            if (roof != null) roof.makeInvisible();
-            if (door != null) door.makeInvisible();
-            if (base != null) base.makeInvisible();
+            if (sprite != null) sprite.makeInvisible();
             isVisible = false;
         }
     }
@@ -157,12 +172,24 @@ public class Store {
         return timesEmptied;
     }
 
+    /** Dibujo de la tienda (null hasta placeInCell); las partes son BASE, ROOF y DOOR. */
+    public CompositeShape getSprite() {
+        return sprite;
+    }
+
     @Override
     public String toString() {
-        return "Store{loc=" + location + ", current=" + currentTenges + ", timesEmptied=" + timesEmptied + "}";
+        return "Store{loc=" + location + ", current=" + getCurrentTenges() + ", timesEmptied=" + timesEmptied + "}";
     }
     
     public void reduceTengesByHalf() {
-    currentTenges = currentTenges / 2;
+    setCurrentTenges(getCurrentTenges() / 2);
+    }
+
+    /** Cambia los tenges avisando la diferencia a la suma del modelo. */
+    private void setCurrentTenges(int tenges) {
+        sync();
+        if (totals != null) totals.changed(tenges - currentTenges);
+        currentTenges = tenges;
     }
 }
\ No newline at end of file
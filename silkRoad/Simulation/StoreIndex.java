@@ -0,0 +1,111 @@
+package Simulation;
+
+/**
+ * Índice espacial de tiendas para elegir, por robot, la tienda más rentable.
+ *
+ * Para un robot en r, la ganancia de la tienda (p, t) es t - |p - r|:
+ *  - si p <= r, vale (t + p) - r  → basta el máximo de t + p entre las tiendas a la izquierda;
+ *  - si p >  r, vale (t - p) + r  → basta el máximo de t - p entre las tiendas a la derecha.
+ * Se guardan el máximo prefijo de t + p y el máximo sufijo de t - p, así que cada consulta
+ * es una búsqueda binaria más dos lecturas: O(log S) en lugar de recorrer las S tiendas.
+ *
+ * Elige lo mismo que el recorrido lineal en orden de posición con comparación estricta:
+ * entre tiendas empatadas gana la de menor posición. Las tiendas sin tenges se ignoran.
+ * Los arreglos se reutilizan entre construcciones (solo crecen).
+ */
+public class StoreIndex {
+
+    private static final long NEG = Long.MIN_VALUE / 4;
+
+    private int[] positions = new int[0];
+    private long[] leftBest = new long[0];   // máximo de t + p en [0, i]
+    private int[] leftArg = new int[0];
+    private long[] rightBest = new long[0];  // máximo de t - p en [i, size)
+    private int[] rightArg = new int[0];
+    private int[] tengesScratch = new int[0];
+    private int size;
+
+    /**
+     * Construye el índice a partir de tiendas ordenadas por posición ascendente.
+     */
+    public void build(int[] storePos, int[] storeTenges, int count) {
+        ensureCapacity(count);
+        size = count;
+        for (int i = 0; i < count; i++) positions[i] = storePos[i];
+
+        long best = NEG;
+        int arg = -1;
+        for (int i = 0; i < count; i++) {
+            long v = storeTenges[i] > 0 ? (long) storeTenges[i] + storePos[i] : NEG;
+            if (v > best) {
+                best = v;
+                arg = i;
+            }
+            leftBest[i] = best;
+            leftArg[i] = arg;
+        }
+
+        best = NEG;
+        arg = -1;
+        for (int i = count - 1; i >= 0; i--) {
+            long v = storeTenges[i] > 0 ? (long) storeTenges[i] - storePos[i] : NEG;
+            if (v >= best) {  // >= para quedarse con la menor posición entre empates
+                best = v;
+                arg = i;
+            }
+            rightBest[i] = best;
+            rightArg[i] = arg;
+        }
+    }
+
+    /**
+     * Construye el índice con el estado actual de las tiendas de una ruta.
+     */
+    public void build(SortedIntMap<Store> stores) {
+        int n = stores.size();
+        ensureCapacity(n);
+        if (tengesScratch.length < n) tengesScratch = new int[positions.length];
+        for (int i = 0; i < n; i++) {
+            positions[i] = stores.keyAt(i);
+            tengesScratch[i] = stores.valueAt(i).getCurrentTenges();
+        }
+        build(positions, tengesScratch, n);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devuelve la posición de la tienda con mayor ganancia positiva para un robot
+     * en robotPos, o -1 si ninguna deja ganancia.
+     */
+    public int bestStore(int robotPos) {
+        // k = cantidad de tiendas con posición <= robotPos
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (positions[mid] <= robotPos) lo = mid + 1;
+            else hi = mid;
+        }
+        int k = lo;
+
+        long leftGain = k > 0 && leftBest[k - 1] != NEG ? leftBest[k - 1] - robotPos : NEG;
+        long rightGain = k < size && rightBest[k] != NEG ? rightBest[k] + robotPos : NEG;
+
+        if (leftGain >= rightGain) {
+            return leftGain > 0 ? positions[leftArg[k - 1]] : -1;
+        }
+        return rightGain > 0 ? positions[rightArg[k]] : -1;
+    }
+
+    private void ensureCapacity(int count) {
+        if (positions.length >= count) return;
+        int capacity = Math.max(count, positions.length * 2);
+        positions = new int[capacity];
+        leftBest = new long[capacity];
+        leftArg = new int[capacity];
+        rightBest = new long[capacity];
+        rightArg = new int[capacity];
+    }
+}
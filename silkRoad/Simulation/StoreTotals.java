@@ -0,0 +1,90 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suma de los tenges actuales de las tiendas de un modelo, al día en cada cambio,
+ * y época de reabastecimiento.
+ *
+ * Cada tienda registrada avisa la diferencia cuando sus tenges cambian (vaciarse,
+ * reducirse a la mitad), así que leer la ganancia máxima posible es O(1) en lugar
+ * de sumar todas las tiendas.
+ *
+ * Reabastecer todas las tiendas también es O(1): se avanza la época y la suma pasa
+ * a ser la de los tenges iniciales. Una tienda cuya última modificación es de una
+ * época anterior se lee llena (Store.sync). Las tiendas dibujadas que se vaciaron
+ * se anotan para que la parte gráfica les devuelva el color al reabastecer; al
+ * quitar una tienda se le borra la marca, así que solo se devuelven las que siguen
+ * registradas.
+ */
+public class StoreTotals {
+
+    private long tenges = 0;
+    private long initialTenges = 0;
+    private int epoch = 0;
+    private List<Store> emptiedWithSprite = new ArrayList<>();
+
+    /** Suma actual de los tenges de las tiendas registradas. */
+    public long tenges() {
+        return tenges;
+    }
+
+    /** Época de reabastecimiento actual. */
+    public int epoch() {
+        return epoch;
+    }
+
+    /** Registra la tienda y suma sus tenges. Una tienda solo puede estar en un total. */
+    public void attach(Store store) {
+        if (store.totals == this) return;
+        if (store.totals != null) store.totals.detach(store);
+        int current = store.getCurrentTenges();
+        store.totals = this;
+        store.epoch = epoch;  // sus tenges actuales valen en esta época
+        tenges += current;
+        initialTenges += store.getInitialTenges();
+    }
+
+    /** Quita la tienda y resta sus tenges. */
+    public void detach(Store store) {
+        if (store.totals != this) return;
+        int current = store.getCurrentTenges();
+        store.totals = null;
+        store.pendingRecolor = false;
+        tenges -= current;
+        initialTenges -= store.getInitialTenges();
+    }
+
+    /**
+     * Reabastece todas las tiendas registradas en O(1).
+     *
+     * @return las tiendas dibujadas, aún registradas, que se vaciaron desde el
+     *         reabastecimiento anterior
+     */
+    public List<Store> resupplyAll() {
+        epoch++;
+        tenges = initialTenges;
+        List<Store> emptied = new ArrayList<>(emptiedWithSprite.size());
+        for (Store s : emptiedWithSprite) {
+            if (s.pendingRecolor && s.totals == this) {
+                s.pendingRecolor = false;
+                emptied.add(s);
+            }
+        }
+        emptiedWithSprite.clear();
+        return emptied;
+    }
+
+    /** Lo llama la tienda cuando sus tenges cambian. */
+    void changed(int delta) {
+        tenges += delta;
+    }
+
+    /** Lo llama una tienda dibujada al vaciarse. */
+    void emptiedWithSprite(Store store) {
+        if (store.pendingRecolor) return;
+        store.pendingRecolor = true;
+        emptiedWithSprite.add(store);
+    }
+}
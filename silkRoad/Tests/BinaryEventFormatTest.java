@@ -0,0 +1,66 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * Pruebas del formato binario de eventos y su lectura mapeada.
+ */
+public class BinaryEventFormatTest {
+
+    private static int[][] toDays(EventSource events) {
+        int[][] days = new int[events.size()][];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = new int[events.length(i)];
+            for (int k = 0; k < days[i].length; k++) days[i][k] = events.value(i, k);
+        }
+        return days;
+    }
+
+    @Test
+    public void convertedTextShouldMapToSameEvents() throws IOException {
+        String text = "4\n1 5\n2 10 30\n2 3 7 3\n1 8\n";
+        Path bin = Files.createTempFile("eventos", ".bin");
+        try {
+            long count = BinaryEventFormat.convertText(new ByteArrayInputStream(text.getBytes("UTF-8")), bin);
+            assertEquals(4, count);
+            assertTrue(BinaryEventFormat.isBinary(bin));
+
+            int[][] expected = new EventReader(new ByteArrayInputStream(text.getBytes("UTF-8"))).readDays();
+            try (MappedEventFile mapped = MappedEventFile.open(bin)) {
+                assertTrue(java.util.Arrays.deepEquals(expected, toDays(mapped)));
+            }
+        } finally {
+            Files.deleteIfExists(bin);
+        }
+    }
+
+    @Test
+    public void streamReadShouldMatchWrittenLog() throws IOException {
+        EventLog log = EventLog.fromDays(new int[][]{{1, 2}, {}, {2, 5, 20, 2}});
+        Path bin = Files.createTempFile("eventos", ".bin");
+        try {
+            BinaryEventFormat.write(log, bin);
+            try (InputStream in = Files.newInputStream(bin)) {
+                EventLog read = BinaryEventFormat.read(in);
+                assertTrue(java.util.Arrays.deepEquals(log.toDays(), read.toDays()));
+            }
+        } finally {
+            Files.deleteIfExists(bin);
+        }
+    }
+
+    @Test
+    public void textFileShouldNotBeDetectedAsBinary() throws IOException {
+        Path txt = Files.createTempFile("eventos", ".txt");
+        try {
+            Files.write(txt, "1\n1 5\n".getBytes("UTF-8"));
+            assertFalse(BinaryEventFormat.isBinary(txt));
+        } finally {
+            Files.deleteIfExists(txt);
+        }
+    }
+}
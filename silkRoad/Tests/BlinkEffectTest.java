@@ -0,0 +1,50 @@
+package Tests;
+
+import Shapes.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Pruebas del parpadeo no bloqueante (sobre figuras invisibles, sin ventana).
+ */
+public class BlinkEffectTest {
+
+    private static CompositeShape sprite() {
+        CompositeShape sprite = new CompositeShape();
+        sprite.addEllipse(0, 0, 20, 20, "blue");
+        return sprite;
+    }
+
+    @Test
+    public void startShouldReturnImmediatelyAndCancelShouldRestoreTheColor() throws Exception {
+        CompositeShape sprite = sprite();
+        BlinkEffect effect = new BlinkEffect(sprite, 0, 1000);
+
+        long start = System.nanoTime();
+        effect.start();
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 500);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sprite.getPartColor(0).equals("blue") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(sprite.getPartColor(0).equals("blue"));
+
+        effect.cancel();
+        assertFalse(effect.isRunning());
+        Thread.sleep(5 * BlinkEffect.PERIOD);
+        assertEquals("blue", sprite.getPartColor(0));
+    }
+
+    @Test
+    public void effectShouldEndWithTheOriginalColor() throws Exception {
+        CompositeShape sprite = sprite();
+        BlinkEffect effect = new BlinkEffect(sprite, 0, 3);
+        effect.start();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (effect.isRunning() && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertFalse(effect.isRunning());
+        assertEquals("blue", sprite.getPartColor(0));
+    }
+}
@@ -0,0 +1,96 @@
+package Tests;
+
+import Shapes.*;
+import Simulation.Cell;
+import Simulation.Robot;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pruebas del repintado por zonas dañadas (sin ventana, sobre un BufferedImage).
+ */
+public class CanvasSceneTest {
+
+    private static int paintDamage(CanvasScene scene, Graphics2D g) {
+        int painted = 0;
+        for (java.awt.Rectangle r : scene.takeDamage()) painted += scene.paint(g, r);
+        return painted;
+    }
+
+    @Test
+    public void movingAShapeShouldRepaintOnlyItsOldAndNewArea() {
+        BufferedImage image = new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        CanvasScene scene = new CanvasScene(1000, 1000, Color.white);
+        Object robot = new Object();
+
+        for (int i = 0; i < 100; i++) {
+            scene.put(new Object(), "black", new java.awt.Rectangle(600 + (i % 10) * 30, 600 + (i / 10) * 30, 20, 20));
+        }
+        scene.put(robot, "blue", new java.awt.Rectangle(10, 10, 20, 20));
+        paintDamage(scene, g);
+
+        scene.put(robot, "blue", new java.awt.Rectangle(50, 10, 20, 20));
+        assertEquals("Solo el robot toca las zonas dañadas", 1, paintDamage(scene, g));
+        assertEquals(Color.white.getRGB(), image.getRGB(15, 15));
+        assertEquals(Color.blue.getRGB(), image.getRGB(55, 15));
+        assertEquals(Color.black.getRGB(), image.getRGB(605, 605));
+    }
+
+    @Test
+    public void overlappingShapesShouldKeepDrawingOrder() {
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        CanvasScene scene = new CanvasScene(200, 200, Color.white);
+        Object cell = new Object();
+        Object store = new Object();
+
+        scene.put(cell, "black", new java.awt.Rectangle(0, 0, 100, 100));
+        scene.put(store, "magenta", new java.awt.Rectangle(20, 20, 40, 40));
+        paintDamage(scene, g);
+        assertEquals(Color.magenta.getRGB(), image.getRGB(30, 30));
+
+        scene.remove(store);
+        paintDamage(scene, g);
+        assertEquals(Color.black.getRGB(), image.getRGB(30, 30));
+        assertEquals(1, scene.size());
+    }
+
+    @Test
+    public void groupShouldMoveAsOneShapeWithItsParts() {
+        BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        CanvasScene scene = new CanvasScene(200, 200, Color.white);
+        Object sprite = new Object();
+        java.awt.Shape[] parts = {new java.awt.Rectangle(0, 0, 20, 20), new java.awt.Rectangle(5, 5, 5, 5)};
+        String[] colors = {"blue", "red"};
+
+        scene.put(sprite, colors, parts, 10, 10);
+        paintDamage(scene, g);
+        assertEquals(Color.blue.getRGB(), image.getRGB(12, 12));
+        assertEquals(Color.red.getRGB(), image.getRGB(17, 17));
+
+        scene.put(sprite, colors, parts, 100, 10);
+        assertEquals(1, paintDamage(scene, g));
+        assertEquals(1, scene.size());
+        assertEquals(Color.white.getRGB(), image.getRGB(17, 17));
+        assertEquals(Color.red.getRGB(), image.getRGB(107, 17));
+    }
+
+    @Test
+    public void robotShouldReuseItsSpriteWhenPlacedInAnotherCell() {
+        Robot robot = new Robot(0, "blue");
+        robot.placeInCell(new Cell(0, 0, 30));
+        CompositeShape sprite = robot.getSprite();
+        assertEquals(4, sprite.partCount());
+
+        robot.placeInCell(new Cell(60, 0, 30));
+        assertSame(sprite, robot.getSprite());
+        assertEquals(4, sprite.partCount());
+        assertEquals(60, sprite.getX());
+        assertEquals("white", sprite.getPartColor(Robot.EYE_LEFT));
+    }
+}
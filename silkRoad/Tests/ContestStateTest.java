@@ -0,0 +1,42 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Pruebas del estado incremental usado por SilkRoadContest.solve.
+ */
+public class ContestStateTest {
+
+    @Test
+    public void robotsShouldStaySorted() {
+        ContestState state = new ContestState();
+        state.addRobot(7);
+        state.addRobot(2);
+        state.addRobot(9);
+        state.addRobot(2);
+
+        assertEquals(4, state.getRobotCount());
+        int[] robots = state.getRobots();
+        assertArrayEquals(new int[]{2, 2, 7, 9}, java.util.Arrays.copyOf(robots, 4));
+    }
+
+    @Test
+    public void storesShouldKeepPrefixSumsUpToDate() {
+        ContestState state = new ContestState();
+        state.putStore(10, 5);
+        state.putStore(3, 20);
+        long[] pref = state.getPrefixSums();
+        assertEquals(25, pref[2]);
+
+        // Reemplazar los tenges de una tienda existente no agrega otra
+        state.putStore(10, 1);
+        state.putStore(1, 4);
+        pref = state.getPrefixSums();
+        assertEquals(3, state.getStoreCount());
+        assertEquals(4, pref[1]);
+        assertEquals(24, pref[2]);
+        assertEquals(25, pref[3]);
+    }
+}
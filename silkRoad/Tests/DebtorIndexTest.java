@@ -0,0 +1,68 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas del índice de deudores y de la patrulla por tramo del policía.
+ */
+public class DebtorIndexTest {
+
+    @Test
+    public void indexShouldFollowTengesAndMoves() throws SilkRoadException {
+        SilkRoadModel road = new SilkRoadModel(100);
+        Robot a = road.placeRobot(10, "normal");
+        Robot b = road.placeRobot(20, "normal");
+        assertTrue(road.debtorsInRange(0, 99).isEmpty());
+
+        a.addTenges(-5);
+        assertSame(a, road.debtorAt(10));
+        road.moveRobot(10, 30);
+        assertNull(road.debtorAt(10));
+        assertSame(a, road.debtorAt(40));
+
+        b.addTenges(-1);
+        assertEquals(Arrays.asList(b, a), road.debtorsInRange(15, 45));
+        a.addTenges(10);
+        assertEquals(Arrays.asList(b), road.debtorsInRange(0, 99));
+
+        road.removeRobot(20);
+        assertTrue(road.debtorsInRange(0, 99).isEmpty());
+        b.addTenges(-100);  // ya no está en el modelo
+        assertTrue(road.debtorsInRange(0, 99).isEmpty());
+    }
+
+    @Test
+    public void rangePatrolShouldRemoveEveryDebtorWithinRange() throws SilkRoadException {
+        SilkRoadModel road = new SilkRoadModel(200);
+        for (int p = 0; p < 200; p += 5) {
+            Robot r = road.placeRobot(p, "normal");
+            if (p % 10 == 0) r.addTenges(-1);
+        }
+        RobotPolice police = new RobotPolice(100, "cyan");
+        police.setPatrolRange(20);
+
+        assertEquals(5, police.rangePatrol(road));  // 80, 90, 100, 110, 120
+        assertEquals(5, police.getRobotsRemoved());
+        assertNull(road.robotAt(90));
+        assertNotNull(road.robotAt(95));
+        assertNotNull(road.robotAt(70));
+        assertTrue(road.debtorsInRange(80, 120).isEmpty());
+        assertEquals(15, road.debtorsInRange(0, 199).size());
+    }
+
+    @Test
+    public void patrolShouldRemoveOnlyTheDebtorAtItsPosition() throws SilkRoadException {
+        SilkRoadModel road = new SilkRoadModel(50);
+        road.placeRobot(7, "normal").addTenges(-3);
+        road.placeRobot(8, "normal").addTenges(-3);
+        RobotPolice police = new RobotPolice(7, "cyan");
+
+        police.patrol(road);
+        assertNull(road.robotAt(7));
+        assertNotNull(road.robotAt(8));
+        assertEquals(1, police.getRobotsRemoved());
+    }
+}
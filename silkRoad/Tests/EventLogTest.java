@@ -0,0 +1,52 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Pruebas del registro compacto de eventos.
+ */
+public class EventLogTest {
+
+    @Test
+    public void shouldRoundTripClassicDays() {
+        int[][] days = {
+            {1, 5}, {2, 10, 30}, {}, {2, 3, 7, 3}, {1, 4, 2}
+        };
+        EventLog log = EventLog.fromDays(days);
+
+        assertEquals(5, log.size());
+        assertEquals(2, log.type(1));
+        assertEquals(0, log.length(2));
+        assertEquals(7, log.value(3, 2));
+        assertTrue(java.util.Arrays.deepEquals(days, log.toDays()));
+    }
+
+    @Test
+    public void nullEventShouldBecomeEmptyEvent() {
+        EventLog log = EventLog.fromDays(new int[][]{null, {1, 2}});
+        assertEquals(0, log.length(0));
+        assertArrayEquals(new int[0], log.toDays()[0]);
+    }
+
+    @Test
+    public void payloadShouldBeSharedWithoutCopies() {
+        EventLog log = new EventLog(1, 1);
+        for (int i = 0; i < 1000; i++) log.add(new int[]{2, i, i * 2});
+
+        int[] payload = log.payload();
+        assertSame("El payload no debe copiarse al consultarlo", payload, log.payload());
+        assertEquals(998, payload[log.offset(499) + 2]);
+    }
+
+    @Test
+    public void solveShouldAcceptEventLog() {
+        SilkRoadContest contest = new SilkRoadContest();
+        int[][] days = {
+            {1, 2},
+            {2, 5, 20}
+        };
+        assertArrayEquals(contest.solve(days), contest.solve(EventLog.fromDays(days)));
+    }
+}
@@ -0,0 +1,45 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.io.*;
+
+/**
+ * Pruebas del lector de entrada de Main.
+ */
+public class EventReaderTest {
+
+    private static int[][] read(String text) throws IOException {
+        return new EventReader(new ByteArrayInputStream(text.getBytes("UTF-8"))).readDays();
+    }
+
+    @Test
+    public void shouldReadRobotAndStoreEvents() throws IOException {
+        int[][] days = read("3\n1 5\n2 10 30\n1 -2\n");
+        assertEquals(3, days.length);
+        assertArrayEquals(new int[]{1, 5}, days[0]);
+        assertArrayEquals(new int[]{2, 10, 30, 1, -2}, days[1]);
+        assertArrayEquals(new int[0], days[2]);
+    }
+
+    @Test
+    public void otherTypesShouldTakeAtMostFiveValues() throws IOException {
+        int[][] days = read("2 2 1 2 3 4 5 6 7");
+        assertArrayEquals(new int[]{2, 1, 2, 3, 4, 5}, days[0]);
+        assertArrayEquals(new int[]{6, 7}, days[1]);
+    }
+
+    @Test
+    public void nonIntegerTokenShouldEndInput() throws IOException {
+        int[][] days = read("3 1 4 x 1 9");
+        assertArrayEquals(new int[]{1, 4}, days[0]);
+        assertArrayEquals(new int[0], days[1]);
+        assertArrayEquals(new int[0], days[2]);
+    }
+
+    @Test
+    public void emptyInputShouldReturnNull() throws IOException {
+        assertNull(read("   \n"));
+    }
+}
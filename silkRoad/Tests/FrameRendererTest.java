@@ -0,0 +1,80 @@
+package Tests;
+
+import Shapes.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pruebas del hilo de dibujo con doble búfer (sin ventana).
+ */
+public class FrameRendererTest {
+
+    private static int pixel(FrameRenderer renderer, int x, int y) {
+        BufferedImage screen = new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = screen.createGraphics();
+        renderer.composite(g, new java.awt.Rectangle(0, 0, 500, 500), 1.0);
+        g.dispose();
+        return screen.getRGB(x, y) & 0xFFFFFF;
+    }
+
+    @Test
+    public void skippedFrameShouldBeFoldedIntoTheNextOne() {
+        CanvasScene scene = new CanvasScene(500, 500, Color.white);
+        FrameRenderer renderer = new FrameRenderer(500, 500, Color.white, null);
+
+        scene.put("a", "red", new java.awt.Rectangle(10, 10, 20, 20));
+        renderer.publish(scene);
+        scene.put("b", "blue", new java.awt.Rectangle(300, 300, 20, 20));
+        renderer.publish(scene);   // el primero no se pintó: se descarta
+
+        assertTrue(renderer.renderPending());
+        assertFalse(renderer.renderPending());
+        assertEquals(2, renderer.framesPublished());
+        assertEquals(1, renderer.framesDropped());
+        assertEquals(1, renderer.framesRendered());
+        assertEquals(0xFF0000, pixel(renderer, 20, 20));
+        assertEquals(0x0000FF, pixel(renderer, 310, 310));
+    }
+
+    @Test
+    public void backBufferShouldCatchUpAfterSwap() {
+        CanvasScene scene = new CanvasScene(500, 500, Color.white);
+        FrameRenderer renderer = new FrameRenderer(500, 500, Color.white, null);
+
+        scene.put("a", "red", new java.awt.Rectangle(10, 10, 20, 20));
+        renderer.publish(scene);
+        renderer.renderPending();
+        scene.put("b", "blue", new java.awt.Rectangle(300, 300, 20, 20));
+        renderer.publish(scene);
+        renderer.renderPending();
+        // el segundo cuadro se pintó en el otro búfer: debe conservar la figura del primero
+        assertEquals(0xFF0000, pixel(renderer, 20, 20));
+        assertEquals(0x0000FF, pixel(renderer, 310, 310));
+
+        scene.remove("a");
+        renderer.publish(scene);
+        renderer.renderPending();
+        assertEquals(0xFFFFFF, pixel(renderer, 20, 20));
+        assertEquals(0x0000FF, pixel(renderer, 310, 310));
+    }
+
+    @Test
+    public void renderThreadShouldPaintPublishedFrames() throws Exception {
+        CanvasScene scene = new CanvasScene(500, 500, Color.white);
+        java.util.concurrent.CountDownLatch swapped = new java.util.concurrent.CountDownLatch(1);
+        FrameRenderer renderer = new FrameRenderer(500, 500, Color.white, regions -> swapped.countDown());
+        renderer.start();
+        try {
+            scene.put("a", "green", new java.awt.Rectangle(100, 100, 20, 20));
+            renderer.publish(scene);
+            assertTrue(swapped.await(5, TimeUnit.SECONDS));
+            assertEquals(0x00FF00, pixel(renderer, 110, 110));
+        } finally {
+            renderer.stop();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package Tests;
+
+import Simulation.*;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Pruebas de IntSequence y de la escala del solver con muchos robots.
+ */
+public class IntSequenceTest {
+
+    @Test
+    public void sequenceShouldGrowBeyondInitialCapacity() {
+        IntSequence seq = new IntSequence(2);
+        for (int i = 0; i < 5000; i++) seq.add(i);
+        assertEquals(5000, seq.size());
+        assertEquals(4999, seq.get(4999));
+    }
+
+    @Test
+    public void insertSortedShouldKeepOrder() {
+        IntSequence seq = new IntSequence();
+        int[] values = {5, 1, 9, 3, 3, 0};
+        for (int v : values) seq.insertSorted(v);
+        assertArrayEquals(new int[]{0, 1, 3, 3, 5, 9}, seq.toArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getShouldRejectIndexOutOfRange() {
+        IntSequence seq = new IntSequence();
+        seq.add(1);
+        seq.get(1);
+    }
+
+    @Test
+    public void mergeSortedShouldKeepOrderAndEmptyTheSource() {
+        IntSequence seq = new IntSequence(2);
+        for (int v : new int[]{1, 4, 8}) seq.add(v);
+        IntSequence pending = new IntSequence();
+        for (int v : new int[]{9, 0, 4, 5}) pending.add(v);
+        seq.mergeSorted(pending);
+        assertArrayEquals(new int[]{0, 1, 4, 4, 5, 8, 9}, seq.toArray());
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    public void stateShouldHoldAMillionRobotsInRandomOrderWithinBudget() {
+        final int robots = 1_000_000;
+        final long budget = 16L * 1024 * 1024;
+
+        ContestState state = new ContestState();
+        for (int p : shuffledPositions(robots, 3)) state.addRobot(p);
+        state.putStore(0, 50);
+
+        int[] sorted = state.getRobots();
+        assertEquals(robots, state.getRobotCount());
+        for (int i = 0; i < robots; i++) assertEquals(i, sorted[i]);
+        assertTrue("El estado debe caber en " + budget + " bytes, usa " + state.reservedBytes(),
+            state.reservedBytes() <= budget);
+    }
+
+    @Test
+    public void solveShouldHandleAMillionRobotEvents() {
+        final int robots = 1_000_000;
+
+        int[][] days = new int[robots + 1][];
+        int[] positions = shuffledPositions(robots, 4);
+        for (int i = 0; i < robots; i++) days[i] = new int[]{1, positions[i]};
+        days[robots] = new int[]{2, 0, 50};
+
+        // Misma ruta que SilkRoadContest.solve, sin construir la simulación visual
+        int[] result = SilkRoadContest.solve(EventLog.fromDays(days), new FastProfitEngine());
+
+        assertEquals(robots + 1, result.length);
+        assertEquals("Sin tiendas no hay ganancia", 0, result[robots - 1]);
+        assertEquals("El robot en la tienda toma todo sin moverse", 50, result[robots]);
+    }
+
+    /** Posiciones 0..n-1 en orden aleatorio (Fisher-Yates con semilla fija). */
+    private static int[] shuffledPositions(int n, long seed) {
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) positions[i] = i;
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = positions[i];
+            positions[i] = positions[j];
+            positions[j] = tmp;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,87 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas de varias unidades de policía con tramo propio.
+ */
+public class PoliceUnitsTest {
+
+    private static SilkRoadModel roadWithDebtors(long seed, Set<Integer> debtorPositions) throws SilkRoadException {
+        Random random = new Random(seed);
+        SilkRoadModel road = new SilkRoadModel(1000);
+        for (int i = 0; i < 300; i++) {
+            int p = random.nextInt(1000);
+            Robot r = road.placeRobot(p, "normal");
+            if (random.nextInt(3) == 0) {
+                r.addTenges(-1);
+                debtorPositions.add(p);
+            } else {
+                debtorPositions.remove(p);
+            }
+        }
+        return road;
+    }
+
+    @Test
+    public void unitsShouldSplitTheRoadIntoContiguousSegments() {
+        SilkRoadModel road = new SilkRoadModel(10);
+        List<RobotPolice> units = road.activatePolice(3);
+        assertEquals(3, units.size());
+        assertEquals(0, units.get(0).getSegmentStart());
+        assertEquals(2, units.get(0).getSegmentEnd());
+        assertEquals(3, units.get(1).getSegmentStart());
+        assertEquals(9, units.get(2).getSegmentEnd());
+        assertTrue(road.activatePolice(2).isEmpty());
+        assertNull(road.activatePolice());
+    }
+
+    @Test
+    public void unitsShouldStayActiveAfterThePlacedPoliceLeaves() throws SilkRoadException {
+        SilkRoadModel road = new SilkRoadModel(12);
+        road.activatePolice(3);
+        road.placeRobot(5, "police");
+        road.removeRobot(5);
+        road.placeRobot(7, "police");
+        road.placeRobot(7, "normal");  // desplaza al policía colocado
+
+        assertTrue(road.activatePolice(2).isEmpty());
+        assertNull(road.activatePolice());
+        assertEquals(3, road.getPoliceUnits().size());
+        assertEquals(3, road.getRobotsRemovedByPoliceUnit().length);
+    }
+
+    @Test
+    public void sweepShouldRemoveEveryDebtorAndCountPerUnit() throws SilkRoadException {
+        Set<Integer> debtors = new TreeSet<>();
+        SilkRoadModel road = roadWithDebtors(25, debtors);
+        road.activatePolice(4);
+
+        assertEquals(debtors.size(), road.policeSweep());
+        for (int p : debtors) assertNull(road.robotAt(p));
+        assertTrue(road.debtorsInRange(0, 999).isEmpty());
+
+        int[] perUnit = road.getRobotsRemovedByPoliceUnit();
+        int[] expected = new int[4];
+        for (int p : debtors) expected[p / 250]++;
+        assertArrayEquals(expected, perUnit);
+        assertEquals(debtors.size(), road.getRobotsRemovedByPolice());
+        assertEquals(0, road.policeSweep());
+    }
+
+    @Test
+    public void sweepShouldBeDeterministic() throws SilkRoadException {
+        int[][] first = null;
+        for (int run = 0; run < 5; run++) {
+            SilkRoadModel road = roadWithDebtors(7, new HashSet<>());
+            road.activatePolice(8);
+            road.policeSweep();
+            int[][] robots = road.robots();
+            if (first == null) first = robots;
+            else assertTrue(Arrays.deepEquals(first, robots));
+        }
+    }
+}
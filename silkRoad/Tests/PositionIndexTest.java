@@ -0,0 +1,49 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas del índice de ocupación por posición.
+ */
+public class PositionIndexTest {
+
+    @Test
+    public void shouldPutGetAndRemove() {
+        PositionIndex<String> index = new PositionIndex<>();
+        assertNull(index.put(7, "a"));
+        assertEquals("a", index.put(7, "b"));
+        assertEquals("b", index.get(7));
+        assertNull(index.get(8));
+        assertEquals("b", index.remove(7));
+        assertNull(index.remove(7));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    public void shouldMatchHashMapOnRandomOperations() {
+        Random rnd = new Random(11);
+        PositionIndex<Integer> index = new PositionIndex<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int op = 0; op < 200_000; op++) {
+            int key = rnd.nextInt(5000);
+            switch (rnd.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, op), index.put(key, op));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), index.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), index.get(key));
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        int[] keys = index.keys();
+        Arrays.sort(keys);
+        assertArrayEquals(new TreeSet<>(expected.keySet()).stream().mapToInt(Integer::intValue).toArray(), keys);
+    }
+}
@@ -0,0 +1,27 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import javax.swing.SwingUtilities;
+
+/**
+ * Pruebas de la barra de ganancias (sin ventana).
+ */
+public class ProfitBarTest {
+
+    @Test
+    public void manyUpdatesShouldShowOnlyTheLastValues() throws Exception {
+        ProfitBar bar = new ProfitBar(1000);
+        for (int i = 0; i <= 100_000; i++) bar.updateProfit(i % 700);
+        bar.setMaxProfit(800);
+        SwingUtilities.invokeAndWait(() -> { });  // espera la actualización pendiente
+
+        assertEquals(800, bar.getDisplayedMaxProfit());
+        assertEquals(100_000 % 700, bar.getDisplayedProfit());
+
+        bar.updateProfit(900);
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(800, bar.getDisplayedProfit());  // no pasa del máximo
+    }
+}
@@ -0,0 +1,103 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas cruzadas entre el motor de referencia y los motores optimizados.
+ */
+public class ProfitEngineTest {
+
+    @Test
+    public void fastEngineShouldSolveSimpleCase() {
+        ProfitEngine engine = new FastProfitEngine();
+        long profit = engine.maxProfit(new int[]{2}, new int[]{5}, new long[]{0, 20});
+        assertEquals("20 tenges menos 3 de distancia", 17, profit);
+    }
+
+    @Test
+    public void fastEngineShouldMatchReferenceOnRandomDays() {
+        ProfitEngine reference = new ReferenceProfitEngine();
+        ProfitEngine fast = new FastProfitEngine();
+        Random rnd = new Random(7);
+
+        for (int t = 0; t < 5000; t++) {
+            int[] robots = randomRobots(rnd, 1 + rnd.nextInt(5), 40);
+            int[] storePos = randomStores(rnd, 1 + rnd.nextInt(8), 40);
+            long[] pref = randomPrefix(rnd, storePos.length, 50);
+
+            assertEquals("Ambos motores deben coincidir",
+                reference.maxProfit(robots, storePos, pref),
+                fast.maxProfit(robots, storePos, pref));
+        }
+    }
+
+    @Test
+    public void sharedWorkspaceShouldNotLeakStateBetweenDays() {
+        ProfitEngine reference = new ReferenceProfitEngine();
+        ProfitEngine fast = new FastProfitEngine();
+        DpWorkspace refWorkspace = new DpWorkspace();
+        DpWorkspace fastWorkspace = new DpWorkspace();
+        Random rnd = new Random(11);
+
+        // Tamaños alternados: los buffers quedan más grandes que el día siguiente
+        for (int t = 0; t < 2000; t++) {
+            int[] robots = randomRobots(rnd, 1 + rnd.nextInt(6), 60);
+            int[] storePos = randomStores(rnd, 1 + rnd.nextInt(t % 2 == 0 ? 12 : 3), 60);
+            long[] pref = randomPrefix(rnd, storePos.length, 50);
+
+            long expected = reference.maxProfit(robots, storePos, pref);
+            assertEquals(expected, reference.maxProfit(robots, robots.length, storePos, pref,
+                storePos.length, refWorkspace));
+            assertEquals(expected, fast.maxProfit(robots, robots.length, storePos, pref,
+                storePos.length, fastWorkspace));
+        }
+    }
+
+    @Test
+    public void parallelEngineShouldMatchReferenceExactly() {
+        ProfitEngine reference = new ReferenceProfitEngine();
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        // Umbral mínimo para forzar la división de cada fila en muchos tramos
+        ProfitEngine parallel = new ParallelProfitEngine(pool, 2);
+        Random rnd = new Random(5);
+
+        try {
+            for (int t = 0; t < 500; t++) {
+                int[] robots = randomRobots(rnd, 1 + rnd.nextInt(6), 200);
+                int[] storePos = randomStores(rnd, 1 + rnd.nextInt(40), 200);
+                long[] pref = randomPrefix(rnd, storePos.length, 80);
+
+                assertEquals("El motor paralelo debe coincidir con el de referencia",
+                    reference.maxProfit(robots, storePos, pref),
+                    parallel.maxProfit(robots, storePos, pref));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static int[] randomRobots(Random rnd, int count, int span) {
+        int[] robots = new int[count];
+        for (int i = 0; i < count; i++) robots[i] = rnd.nextInt(span);
+        Arrays.sort(robots);
+        return robots;
+    }
+
+    static int[] randomStores(Random rnd, int count, int span) {
+        TreeSet<Integer> positions = new TreeSet<>();
+        for (int i = 0; i < count; i++) positions.add(rnd.nextInt(span));
+        int[] storePos = new int[positions.size()];
+        int k = 0;
+        for (int p : positions) storePos[k++] = p;
+        return storePos;
+    }
+
+    static long[] randomPrefix(Random rnd, int count, int maxTenges) {
+        long[] pref = new long[count + 1];
+        for (int i = 0; i < count; i++) pref[i + 1] = pref[i] + rnd.nextInt(maxTenges);
+        return pref;
+    }
+}
@@ -0,0 +1,62 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas de la tabla de posiciones por ganancia.
+ */
+public class ProfitLeaderboardTest {
+
+    /** Orden esperado: mayor ganancia, y entre empates la menor posición. */
+    private static List<Robot> expectedTop(SilkRoadModel road, int k) {
+        List<Robot> all = new ArrayList<>();
+        road.getRobotsByPosition().forEachValue(r -> { if (!r.isPolice()) all.add(r); });
+        all.sort((a, b) -> a.getProfit() != b.getProfit()
+            ? Integer.compare(b.getProfit(), a.getProfit())
+            : Integer.compare(a.getCurrentLocation(), b.getCurrentLocation()));
+        return all.subList(0, Math.min(k, all.size()));
+    }
+
+    @Test
+    public void shouldMatchAFullSortAfterRandomMoves() throws SilkRoadException {
+        Random random = new Random(21);
+        SilkRoadModel road = new SilkRoadModel(500);
+        for (int i = 0; i < 60; i++) road.placeStore(random.nextInt(500), 1 + random.nextInt(50), "normal");
+        for (int i = 0; i < 80; i++) road.placeRobot(random.nextInt(500), i % 10 == 0 ? "tender" : "normal");
+        road.placeRobot(499, "police");
+
+        for (int step = 0; step < 3000; step++) {
+            SortedIntMap<Robot> robots = road.getRobotsByPosition();
+            if (robots.isEmpty()) break;
+            int from = robots.keyAt(random.nextInt(robots.size()));
+            road.moveRobot(from, random.nextInt(41) - 20);
+            if (step % 500 == 0) road.resupplyStores();
+
+            List<Robot> best = expectedTop(road, 1);
+            assertSame(best.isEmpty() ? null : best.get(0), road.bestRobot());
+            if (step % 100 == 0) assertEquals(expectedTop(road, 7), road.topRobots(7));
+        }
+        assertFalse(road.bestRobot().isPolice());
+    }
+
+    @Test
+    public void removedRobotsShouldLeaveTheBoard() throws SilkRoadException {
+        SilkRoadModel road = new SilkRoadModel(50);
+        road.placeStore(5, 100, "normal");
+        road.placeRobot(0, "normal");
+        road.placeRobot(20, "normal");
+        road.moveRobot(0, 5);
+        assertEquals(5, road.bestRobot().getCurrentLocation());
+
+        road.removeRobotAtPosition(5);
+        assertEquals(20, road.bestRobot().getCurrentLocation());
+        assertEquals(1, road.topRobots(10).size());
+
+        road.clear();
+        assertNull(road.bestRobot());
+        assertTrue(road.topRobots(3).isEmpty());
+    }
+}
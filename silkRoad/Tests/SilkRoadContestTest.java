@@ -84,4 +84,18 @@ public class SilkRoadContestTest {
         }
     }
 
+    @Test
+    public void solveParallelShouldMatchSequentialSolve() {
+        SilkRoadContest contest = new SilkRoadContest();
+        java.util.Random rnd = new java.util.Random(3);
+        int[][] days = new int[300][];
+        for (int i = 0; i < days.length; i++) {
+            if (rnd.nextBoolean()) days[i] = new int[]{1, rnd.nextInt(200)};
+            else days[i] = new int[]{2, rnd.nextInt(200), rnd.nextInt(60)};
+        }
+
+        int[] expected = contest.solve(days);
+        assertArrayEquals(expected, contest.solveParallel(days, 4));
+        assertArrayEquals(expected, contest.solveParallel(days, 1));
+    }
 }
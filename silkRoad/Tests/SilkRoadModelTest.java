@@ -0,0 +1,239 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas del modelo sin parte gráfica (no crea celdas, figuras ni ventanas).
+ */
+public class SilkRoadModelTest {
+
+    private SilkRoadModel road;
+
+    @Before
+    public void setUp() {
+        road = new SilkRoadModel(50);
+    }
+
+    @Test
+    public void robotShouldGainProfitAndEmptyStore() throws SilkRoadException {
+        road.placeRobot(5, "normal");
+        road.placeStore(10, 30, "normal");
+        road.moveRobot(5, 5);
+
+        assertEquals(25, road.profit());
+        assertArrayEquals(new int[]{10, 25}, road.profitPerMove()[0]);
+        assertArrayEquals(new int[]{10, 0}, road.stores()[0]);
+        assertEquals(0, road.maxProfit());
+    }
+
+    @Test
+    public void neverBackRobotShouldNotMoveBackwards() throws SilkRoadException {
+        road.placeRobot(20, "neverback");
+        road.moveRobot(20, -5);
+        assertEquals(20, road.robots()[0][0]);
+    }
+
+    @Test
+    public void tenderShouldTakeHalfOfTheStore() throws SilkRoadException {
+        road.placeRobot(0, "tender");
+        road.placeStore(4, 40, "normal");
+        road.moveRobot(0, 4);
+
+        assertEquals(16, road.profit());
+        assertEquals(20, road.stores()[0][1]);
+        assertEquals(16, road.profitPerMove()[0][1]);
+    }
+
+    @Test
+    public void robotMovingOntoAnotherShouldReplaceIt() throws SilkRoadException {
+        road.placeRobot(1, "normal");
+        road.placeRobot(3, "normal");
+        road.moveRobot(1, 2);
+        assertEquals(1, road.robots().length);
+        assertEquals(3, road.robots()[0][0]);
+    }
+
+    @Test
+    public void returnedRobotsShouldBeFoundAtTheirInitialPosition() throws SilkRoadException {
+        road.placeRobot(2, "normal");
+        road.moveRobot(2, 10);
+        road.returnRobots();
+
+        assertNotNull(road.robotAt(2));
+        assertNull(road.robotAt(12));
+        assertEquals(2, road.robots()[0][0]);
+        road.moveRobot(2, 1);
+        assertEquals(3, road.profitPerMove()[0][0]);
+    }
+
+    @Test
+    public void bestRobotShouldIgnorePolice() throws SilkRoadException {
+        road.placeRobot(0, "police");
+        road.placeRobot(10, "normal");
+        road.moveRobot(10, -3);
+        assertFalse(road.bestRobot().isPolice());
+        assertEquals(7, road.bestRobot().getCurrentLocation());
+    }
+
+    @Test
+    public void movingOntoAnOccupiedCellShouldKeepTiedRobotsOrderedByPosition() throws SilkRoadException {
+        road.placeRobot(8, "normal");
+        road.placeRobot(3, "normal");
+        road.placeRobot(7, "normal");
+        road.placeRobot(18, "normal");
+        road.placeRobot(3, "normal");
+        road.moveRobot(3, 15);  // desplaza al de 18; el que se mueve queda con -15
+
+        assertEquals(7, road.bestRobot().getCurrentLocation());
+        List<Robot> top = road.topRobots(3);
+        assertEquals(7, top.get(0).getCurrentLocation());
+        assertEquals(8, top.get(1).getCurrentLocation());
+        assertEquals(18, top.get(2).getCurrentLocation());
+
+        // mismo resultado que recorrer los robots por posición, tras muchos desplazamientos
+        Random random = new Random(21);
+        for (int step = 0; step < 5000; step++) {
+            int from = random.nextInt(50);
+            if (road.robotAt(from) == null) {
+                road.placeRobot(from, "normal");
+                continue;
+            }
+            road.moveRobot(from, random.nextInt(11) - 5);
+            Robot expected = null;
+            for (int i = 0; i < road.getRobotsByPosition().size(); i++) {
+                Robot r = road.getRobotsByPosition().valueAt(i);
+                if (expected == null || r.getProfit() > expected.getProfit()) expected = r;
+            }
+            assertSame(expected, road.bestRobot());
+        }
+    }
+
+    @Test
+    public void robotsShouldStaySortedByPositionAcrossMoves() throws SilkRoadException {
+        Random random = new Random(12);
+        for (int i = 0; i < 20; i++) road.placeRobot(random.nextInt(50), "normal");
+        for (int step = 0; step < 2000; step++) {
+            int from = random.nextInt(50);
+            if (road.robotAt(from) != null) road.moveRobot(from, random.nextInt(21) - 10);
+            if (step % 97 == 0) road.removeRobot(random.nextInt(50));
+            if (step % 50 != 0) continue;
+
+            int[][] robots = road.robots();
+            int count = 0;
+            for (int p = 0; p < 50; p++) {
+                Robot r = road.robotAt(p);
+                if (r == null) continue;
+                assertEquals(p, robots[count][0]);
+                assertEquals(r.getTenges(), robots[count][1]);
+                assertSame(r, road.getRobotsByPosition().valueAt(count));
+                count++;
+            }
+            assertEquals(count, robots.length);
+        }
+    }
+
+    @Test(expected = SilkRoadException.class)
+    public void placingRobotOutsideRoadShouldFail() throws SilkRoadException {
+        road.placeRobot(50, "normal");
+    }
+
+    @Test
+    public void observerShouldSeeEveryChange() throws SilkRoadException {
+        List<String> seen = new ArrayList<>();
+        road.addObserver(new SilkRoadObserver() {
+            @Override public void storePlaced(Store s, int p) { seen.add("store " + p); }
+            @Override public void robotPlaced(Robot r, int p) { seen.add("robot " + p); }
+            @Override public void robotMoved(Robot r, int from, int to) { seen.add("move " + from + "->" + to); }
+            @Override public void profitChanged(long profit) { seen.add("profit " + profit); }
+        });
+
+        road.placeStore(7, 10, "normal");
+        road.placeRobot(2, "normal");
+        road.moveRobot(2, 5);
+
+        assertEquals(Arrays.asList("store 7", "robot 2", "move 2->7", "profit 5"), seen);
+    }
+
+    @Test
+    public void shouldRunManyMovesWithoutGraphics() throws SilkRoadException {
+        SilkRoadModel big = new SilkRoadModel(100_000);
+        for (int i = 0; i < 100; i++) big.placeRobot(i * 1000, "normal");
+        for (int k = 0; k < 100_000; k++) {
+            int from = (k % 100) * 1000 + ((k / 100) % 2);
+            big.moveRobot(from, (k / 100) % 2 == 0 ? 1 : -1);
+        }
+        assertEquals(100, big.robots().length);
+        assertEquals(-100_000, big.profit());
+    }
+
+    @Test
+    public void maxProfitShouldFollowEveryStoreChange() throws SilkRoadException {
+        Random random = new Random(22);
+        SilkRoadModel big = new SilkRoadModel(300);
+        for (int i = 0; i < 40; i++) big.placeStore(random.nextInt(300), 1 + random.nextInt(90), "normal");
+        for (int i = 0; i < 30; i++) big.placeRobot(random.nextInt(300), i % 3 == 0 ? "tender" : "normal");
+
+        for (int step = 0; step < 2000; step++) {
+            SortedIntMap<Robot> robots = big.getRobotsByPosition();
+            if (robots.isEmpty()) break;
+            big.moveRobot(robots.keyAt(random.nextInt(robots.size())), random.nextInt(21) - 10);
+            if (step % 300 == 0) big.resupplyStores();
+            if (step % 450 == 0) big.removeStore(big.getStoresByPosition().keyAt(0));
+            if (step % 700 == 0) big.placeStore(random.nextInt(300), 50, "normal");
+
+            int sum = 0;
+            for (int[] store : big.stores()) sum += store[1];
+            assertEquals(sum, big.maxProfit());
+        }
+        big.clear();
+        assertEquals(0, big.maxProfit());
+    }
+
+    @Test
+    public void resupplyShouldOnlyRecolorStoresStillOnTheRoad() throws SilkRoadException {
+        Store kept = road.placeStore(3, 10, "normal");
+        Store removed = road.placeStore(8, 10, "normal");
+        for (Store s : new Store[]{kept, removed}) {
+            s.placeInCell(new Cell(0, 0, 30));
+            s.empty();
+        }
+        road.removeStore(8);
+        List<Store> recolored = new ArrayList<>();
+        road.addObserver(new SilkRoadObserver() {
+            @Override public void storesResupplied(List<Store> emptied) { recolored.addAll(emptied); }
+        });
+
+        road.resupplyStores();
+        assertEquals(Arrays.asList(kept), recolored);
+
+        // tras reiniciar, las tiendas anteriores ya no son del modelo
+        kept.empty();
+        road.reboot();
+        recolored.clear();
+        road.resupplyStores();
+        assertTrue(recolored.isEmpty());
+    }
+
+    @Test
+    public void resupplyShouldRefillStoresWhenTheyAreRead() throws SilkRoadException {
+        SilkRoadModel big = new SilkRoadModel(1_000_000);
+        for (int p = 0; p < 1_000_000; p += 10) big.placeStore(p, 5, "normal");
+        big.placeRobot(1, "normal");
+        big.moveRobot(1, 9);    // vacía la tienda de 10
+        big.moveRobot(10, 10);  // y la de 20
+        assertEquals(100_000 * 5 - 10, big.maxProfit());
+
+        for (int day = 0; day < 1000; day++) big.resupplyStores();
+        assertEquals(100_000 * 5, big.maxProfit());
+        assertEquals(5, big.getStoresByPosition().get(10).getCurrentTenges());
+        assertFalse(big.getStoresByPosition().get(20).isEmptiedToday());
+
+        big.moveRobot(20, -10);  // la de 10 vuelve a tener tenges
+        assertEquals(2, big.getStoresByPosition().get(10).getTimesEmptied());
+        assertEquals(100_000 * 5 - 5, big.maxProfit());
+    }
+}
@@ -0,0 +1,56 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas del mapa ordenado de claves int.
+ */
+public class SortedIntMapTest {
+
+    @Test
+    public void shouldIterateInKeyOrder() {
+        SortedIntMap<String> map = new SortedIntMap<>();
+        map.put(30, "c");
+        map.put(10, "a");
+        map.put(20, "b");
+        assertEquals("a", map.put(10, "A"));
+
+        assertEquals(3, map.size());
+        assertEquals(10, map.keyAt(0));
+        assertEquals("A", map.valueAt(0));
+        assertEquals(30, map.keyAt(2));
+        assertEquals("b", map.remove(20));
+        assertNull(map.get(20));
+    }
+
+    @Test
+    public void moveShouldKeepKeysSorted() {
+        Random rnd = new Random(5);
+        SortedIntMap<Integer> map = new SortedIntMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 500; i++) {
+            int k = rnd.nextInt(10_000);
+            map.put(k, i);
+            expected.put(k, i);
+        }
+
+        for (int op = 0; op < 20_000; op++) {
+            int from = map.keyAt(rnd.nextInt(map.size()));
+            int to = rnd.nextInt(10_000);
+            if (expected.containsKey(to) && to != from) continue;
+            assertTrue(map.move(from, to));
+            expected.put(to, expected.remove(from));
+        }
+
+        int i = 0;
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals((int) e.getKey(), map.keyAt(i));
+            assertEquals(e.getValue(), map.valueAt(i));
+            i++;
+        }
+        assertEquals(expected.size(), map.size());
+    }
+}
@@ -0,0 +1,71 @@
+package Tests;
+
+import Shapes.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pruebas del atlas de figuras compuestas (sin ventana).
+ */
+public class SpriteAtlasTest {
+
+    private static java.awt.Shape[] robotParts() {
+        // mismas partes que un Robot en celdas de 30
+        return new java.awt.Shape[] {
+            new java.awt.geom.Ellipse2D.Double(4, 4, 21, 21),
+            new java.awt.geom.Ellipse2D.Double(9, 9, 4, 4),
+            new java.awt.geom.Ellipse2D.Double(14, 9, 4, 4),
+            new java.awt.Rectangle(9, 18, 10, 3)
+        };
+    }
+
+    private static BufferedImage paint(CanvasScene scene) {
+        BufferedImage image = new BufferedImage(400, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g, new java.awt.Rectangle(0, 0, 400, 100));
+        g.dispose();
+        return image;
+    }
+
+    @Test
+    public void cachedSpritesShouldLookExactlyLikeTheirParts() {
+        java.awt.Shape[] parts = robotParts();
+        String[] colors = {"blue", "white", "white", "black"};
+        CanvasScene plain = new CanvasScene(400, 100, Color.white);
+        CanvasScene cached = new CanvasScene(400, 100, Color.white);
+        SpriteAtlas.Kind kind = new SpriteAtlas.Kind("robot", 30);
+        for (int i = 0; i < 10; i++) {
+            plain.put("r" + i, colors, parts, i * 37, 20 + i);
+            cached.put("r" + i, kind, colors, parts, i * 37, 20 + i);
+        }
+
+        BufferedImage expected = paint(plain);
+        BufferedImage actual = paint(cached);
+        for (int y = 0; y < 100; y++) {
+            for (int x = 0; x < 400; x++) {
+                assertEquals("píxel " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+        assertEquals(1, cached.getAtlas().misses());
+        assertEquals(9, cached.getAtlas().hits());
+    }
+
+    @Test
+    public void changingTheSizeOfAKindShouldEvictItsOldSprites() {
+        java.awt.Shape[] parts = robotParts();
+        CanvasScene scene = new CanvasScene(400, 100, Color.white);
+        scene.put("a", new SpriteAtlas.Kind("robot", 30), new String[] {"blue", "white", "white", "black"}, parts, 0, 0);
+        scene.put("b", new SpriteAtlas.Kind("robot", 30), new String[] {"red", "white", "white", "black"}, parts, 40, 0);
+        paint(scene);
+        assertEquals(2, scene.getAtlas().size());
+
+        scene.remove("a");
+        scene.put("b", new SpriteAtlas.Kind("robot", 40), new String[] {"red", "white", "white", "black"}, parts, 40, 0);
+        paint(scene);
+        assertEquals(1, scene.getAtlas().size());
+        assertEquals(2, scene.getAtlas().evictions());
+    }
+}
@@ -0,0 +1,59 @@
+package Tests;
+
+import Simulation.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.*;
+
+/**
+ * Pruebas del índice de tiendas usado por SilkRoadContest.simulate.
+ */
+public class StoreIndexTest {
+
+    /** Recorrido lineal original de simulate. */
+    private static int bruteBestStore(int rpos, int[] pos, int[] tenges, int n) {
+        int bestStore = -1;
+        int bestGain = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            if (tenges[i] <= 0) continue;
+            int gain = tenges[i] - Math.abs(pos[i] - rpos);
+            if (gain > bestGain && gain > 0) {
+                bestGain = gain;
+                bestStore = pos[i];
+            }
+        }
+        return bestStore;
+    }
+
+    @Test
+    public void shouldPickClosestProfitableStore() {
+        StoreIndex index = new StoreIndex();
+        index.build(new int[]{2, 10, 30}, new int[]{5, 12, 0}, 3);
+
+        assertEquals(10, index.bestStore(8));
+        assertEquals(2, index.bestStore(0));
+        assertEquals(-1, index.bestStore(40));
+    }
+
+    @Test
+    public void shouldMatchLinearScanOnRandomStores() {
+        Random rnd = new Random(3);
+        StoreIndex index = new StoreIndex();
+        for (int round = 0; round < 2000; round++) {
+            int n = rnd.nextInt(30);
+            TreeSet<Integer> used = new TreeSet<>();
+            while (used.size() < n) used.add(rnd.nextInt(100));
+            int[] pos = new int[n];
+            int[] tenges = new int[n];
+            int i = 0;
+            for (int p : used) {
+                pos[i] = p;
+                tenges[i++] = rnd.nextInt(4) == 0 ? 0 : rnd.nextInt(40);
+            }
+            index.build(pos, tenges, n);
+            for (int r = 0; r < 100; r++) {
+                assertEquals(bruteBestStore(r, pos, tenges, n), index.bestStore(r));
+            }
+        }
+    }
+}
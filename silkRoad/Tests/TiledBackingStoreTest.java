@@ -0,0 +1,44 @@
+package Tests;
+
+import Shapes.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pruebas del almacén por baldosas del Canvas (sin ventana).
+ */
+public class TiledBackingStoreTest {
+
+    @Test
+    public void shouldAllocateOnlyTilesThatWereDrawnInto() {
+        CanvasScene scene = new CanvasScene(8000, 8000, Color.white);
+        TiledBackingStore store = new TiledBackingStore(8000, 8000, Color.white);
+        scene.put(new Object(), "blue", new java.awt.Rectangle(10, 10, 30, 30));
+
+        for (java.awt.Rectangle r : scene.takeDamage()) store.paint(scene, r);
+        assertEquals(1, store.allocatedTiles());
+
+        // Una zona dañada sin figuras no crea baldosas
+        scene.addDamage(new java.awt.Rectangle(4000, 4000, 500, 500));
+        for (java.awt.Rectangle r : scene.takeDamage()) store.paint(scene, r);
+        assertEquals(1, store.allocatedTiles());
+    }
+
+    @Test
+    public void compositeShouldHonourViewAndZoom() {
+        CanvasScene scene = new CanvasScene(1000, 1000, Color.white);
+        TiledBackingStore store = new TiledBackingStore(1000, 1000, Color.white);
+        scene.put(new Object(), "red", new java.awt.Rectangle(300, 300, 20, 20));
+        for (java.awt.Rectangle r : scene.takeDamage()) store.paint(scene, r);
+
+        BufferedImage screen = new BufferedImage(800, 800, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = screen.createGraphics();
+        store.composite(g, new java.awt.Rectangle(0, 0, 400, 400), 2.0);
+
+        assertEquals(Color.red.getRGB(), screen.getRGB(620, 620));
+        assertEquals(Color.white.getRGB(), screen.getRGB(100, 100));
+    }
+}